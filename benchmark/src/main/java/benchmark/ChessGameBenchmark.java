@@ -0,0 +1,139 @@
+package benchmark;
+
+import chess.Bitboard;
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import chess.InvalidMoveException;
+import chess.LegalMoveCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the public ChessGame operations the server runs on every move.
+ * Each invocation works on the next position of the selected phase, so a score
+ * is an average over the phase's corpus.
+ * <p>
+ * With moveCache=true every game uses a legal move cache private to the trial.
+ * The corpus fits in it, so validMoves, legalMoves and makeMove mostly measure
+ * cache hits, as on a server replaying popular positions. Compare against
+ * moveCache=false to see the cost of move generation itself.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ChessGameBenchmark {
+
+    @Param({"opening", "middlegame", "endgame"})
+    public String phase;
+
+    @Param({"true", "false"})
+    public boolean moveCache;
+
+    private LegalMoveCache cache;
+    private ChessGame[] games;
+    private ChessMove[] firstMoves;
+    private ChessPosition[][] teamPieces;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void loadPositions() {
+        cache = moveCache ? new LegalMoveCache(1 << 16) : null;
+        List<String> fens = Positions.phase(phase);
+        games = new ChessGame[fens.size()];
+        firstMoves = new ChessMove[fens.size()];
+        teamPieces = new ChessPosition[fens.size()][];
+        for (int i = 0; i < games.length; i++) {
+            games[i] = Positions.load(fens.get(i));
+            games[i].setMoveCache(cache);
+            firstMoves[i] = new ArrayList<>(games[i].legalMoves()).get(0);
+
+            Bitboard bits = games[i].copyBitboard();
+            long pieces = bits.occupancy(Bitboard.color(games[i].getTeamTurn()));
+            List<ChessPosition> positions = new ArrayList<>();
+            for (; pieces != 0; pieces &= pieces - 1) {
+                positions.add(Bitboard.position(Long.numberOfTrailingZeros(pieces)));
+            }
+            teamPieces[i] = positions.toArray(new ChessPosition[0]);
+        }
+    }
+
+    private int nextIndex() {
+        int index = next;
+        next = index + 1 == games.length ? 0 : index + 1;
+        return index;
+    }
+
+    @Benchmark
+    public void validMoves(Blackhole blackhole) {
+        int index = nextIndex();
+        for (ChessPosition position : teamPieces[index]) {
+            blackhole.consume(games[index].validMoves(position));
+        }
+    }
+
+    @Benchmark
+    public Object legalMoves() {
+        return games[nextIndex()].legalMoves();
+    }
+
+    @Benchmark
+    public boolean isInCheckmate() {
+        ChessGame game = games[nextIndex()];
+        return game.isInCheckmate(game.getTeamTurn());
+    }
+
+    @Benchmark
+    public boolean isInStalemate() {
+        ChessGame game = games[nextIndex()];
+        return game.isInStalemate(game.getTeamTurn());
+    }
+
+    @Benchmark
+    public Object boardCopy() {
+        return games[nextIndex()].getBoard().copy();
+    }
+
+    /**
+     * Validates and plays a move on a fresh copy of the position. The copy is part
+     * of the measured work; subtract copyGame to isolate makeMove.
+     */
+    @Benchmark
+    public ChessGame makeMove() throws InvalidMoveException {
+        int index = nextIndex();
+        ChessGame game = copy(games[index]);
+        game.makeMove(firstMoves[index]);
+        return game;
+    }
+
+    @Benchmark
+    public ChessGame copyGame() {
+        return copy(games[nextIndex()]);
+    }
+
+    private ChessGame copy(ChessGame source) {
+        ChessGame game = new ChessGame();
+        game.setMoveCache(cache);
+        game.setBoard(source.getBoard());
+        game.setTeamTurn(source.getTeamTurn());
+        return game;
+    }
+}
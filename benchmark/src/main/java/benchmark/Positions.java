@@ -0,0 +1,52 @@
+package benchmark;
+
+import chess.ChessGame;
+import chess.Fen;
+
+import java.util.List;
+
+/**
+ * Benchmark corpus of positions grouped by phase of the game
+ */
+public final class Positions {
+
+    public static final List<String> OPENING = List.of(
+            Fen.START,
+            "rnbqkbnr/pp1ppppp/8/2p5/4P3/8/PPPP1PPP/RNBQKBNR w - - 0 2",
+            "r1bqkbnr/pppp1ppp/2n5/1B2p3/4P3/5N2/PPPP1PPP/RNBQK2R b - - 3 3",
+            "rnbqkb1r/ppp1pppp/5n2/3p4/2PP4/8/PP2PPPP/RNBQKBNR w - - 1 3"
+    );
+
+    public static final List<String> MIDDLEGAME = List.of(
+            "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+            "2rq1rk1/pp1bppbp/3p1np1/4n3/3NP3/1BN1BP2/PPPQ2PP/2KR3R w - - 0 12",
+            "r1bq1rk1/pp2bppp/2n1pn2/3p4/2PP4/2N1PN2/PP3PPP/R2QKB1R w - - 0 8",
+            "r2q1rk1/1b2bppp/p2ppn2/1p6/3NP3/1BN1B3/PPP2PPP/R2Q1RK1 b - - 1 11"
+    );
+
+    public static final List<String> ENDGAME = List.of(
+            "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+            "8/5pk1/6p1/8/3R4/6P1/5PK1/r7 w - - 0 1",
+            "8/8/2k5/5q2/5n2/8/5K2/8 b - - 0 1",
+            "4k3/8/8/8/8/8/4P3/4K3 w - - 0 1"
+    );
+
+    private Positions() {
+    }
+
+    public static List<String> phase(String name) {
+        return switch (name) {
+            case "opening" -> OPENING;
+            case "middlegame" -> MIDDLEGAME;
+            case "endgame" -> ENDGAME;
+            default -> throw new IllegalArgumentException("Unknown phase " + name);
+        };
+    }
+
+    /**
+     * Builds a game from a FEN
+     */
+    public static ChessGame load(String fen) {
+        return ChessGame.fromFen(fen);
+    }
+}
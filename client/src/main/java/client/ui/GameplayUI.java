@@ -223,11 +223,8 @@ public class GameplayUI {
         if (game == null) {
             return false;
         }
-        // Game is over if either team is in checkmate or stalemate
-        return game.isInCheckmate(ChessGame.TeamColor.WHITE) ||
-                game.isInCheckmate(ChessGame.TeamColor.BLACK) ||
-                game.isInStalemate(ChessGame.TeamColor.WHITE) ||
-                game.isInStalemate(ChessGame.TeamColor.BLACK);
+        // Game is over on checkmate, stalemate or a draw by repetition or the fifty-move rule
+        return game.status().isOver();
     }
 
     private ChessPosition parsePos(String txt) {
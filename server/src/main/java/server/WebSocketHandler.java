@@ -227,6 +227,7 @@ public class WebSocketHandler {
                 return;
             }
 
+            String san = game.toSan(move);
             game.makeMove(move);
 
             GameData updated = new GameData(gameID,
@@ -240,10 +241,8 @@ public class WebSocketHandler {
 
             manager.broadcastToGameExcept(ctx, gameID, new LoadGameMessage(game));
 
-            // Format move description
-            String moveDescription = formatMove(move, piece);
             manager.broadcastToGameExcept(ctx, gameID,
-                    new NotificationMessage(username + " made a move: " + moveDescription));
+                    new NotificationMessage(username + " played " + san));
 
             // Check for game end conditions and send notifications
             checkGameEndConditions(game, gameData, gameID);
@@ -336,79 +335,38 @@ public class WebSocketHandler {
     }
     private void checkGameEndConditions(ChessGame game, GameData gameData, int gameID) {
         try {
-            // Check for checkmate first (checkmate implies check, so only send checkmate notification)
-            if (game.isInCheckmate(ChessGame.TeamColor.WHITE)) {
-                String playerName = gameData.whiteUsername();
-                manager.broadcastToGame(gameID,
+            // Only the team to move can be in check, checkmate or stalemate after a move,
+            // and a draw by repetition or the fifty-move rule ends the game as well
+            ChessGame.TeamColor currentTurn = game.getTeamTurn();
+            String playerName = (currentTurn == ChessGame.TeamColor.WHITE)
+                    ? gameData.whiteUsername() : gameData.blackUsername();
+
+            ChessGame.GameStatus status = game.status();
+            switch (status) {
+                case CHECKMATE -> manager.broadcastToGame(gameID,
                         new NotificationMessage(playerName + " is in checkmate"));
-                dao.updateGame(new GameData(gameID,
-                        gameData.whiteUsername(), gameData.blackUsername(),
-                        gameData.gameName(), game, true));
-            } else if (game.isInCheckmate(ChessGame.TeamColor.BLACK)) {
-                String playerName = gameData.blackUsername();
-                manager.broadcastToGame(gameID,
-                        new NotificationMessage(playerName + " is in checkmate"));
-                dao.updateGame(new GameData(gameID,
-                        gameData.whiteUsername(), gameData.blackUsername(),
-                        gameData.gameName(), game, true));
-            } else if (game.isInStalemate(ChessGame.TeamColor.WHITE)) {
-                String playerName = gameData.whiteUsername();
-                manager.broadcastToGame(gameID,
-                        new NotificationMessage(playerName + " is in stalemate"));
-                dao.updateGame(new GameData(gameID,
-                        gameData.whiteUsername(), gameData.blackUsername(),
-                        gameData.gameName(), game, true));
-            } else if (game.isInStalemate(ChessGame.TeamColor.BLACK)) {
-                String playerName = gameData.blackUsername();
-                manager.broadcastToGame(gameID,
+                case STALEMATE -> manager.broadcastToGame(gameID,
                         new NotificationMessage(playerName + " is in stalemate"));
+                case CHECK -> manager.broadcastToGame(gameID,
+                        new NotificationMessage(playerName + " is in check"));
+                case THREEFOLD_REPETITION -> manager.broadcastToGame(gameID,
+                        new NotificationMessage("Draw by threefold repetition"));
+                case FIFTY_MOVE_RULE -> manager.broadcastToGame(gameID,
+                        new NotificationMessage("Draw by the fifty-move rule"));
+                case ONGOING -> {
+                }
+            }
+
+            if (status.isOver()) {
                 dao.updateGame(new GameData(gameID,
                         gameData.whiteUsername(), gameData.blackUsername(),
                         gameData.gameName(), game, true));
-            } else {
-                // Only send check notification if not in checkmate or stalemate
-                ChessGame.TeamColor currentTurn = game.getTeamTurn();
-                if (game.isInCheck(currentTurn)) {
-                    String playerName = (currentTurn == ChessGame.TeamColor.WHITE)
-                            ? gameData.whiteUsername() : gameData.blackUsername();
-                    manager.broadcastToGame(gameID,
-                            new NotificationMessage(playerName + " is in check"));
-                }
             }
         } catch (dataaccess.DataAccessException e) {
             // Silently handle database update errors
         }
     }
 
-    private String formatMove(chess.ChessMove move, chess.ChessPiece piece) {
-        String from = positionToAlgebraic(move.getStartPosition());
-        String to = positionToAlgebraic(move.getEndPosition());
-        String pieceName = pieceTypeToName(piece.getPieceType());
-
-        String promotion = "";
-        if (move.getPromotionPiece() != null) {
-            promotion = " promoting to " + pieceTypeToName(move.getPromotionPiece());
-        }
-
-        return pieceName + " from " + from + " to " + to + promotion;
-    }
-
-    private String positionToAlgebraic(chess.ChessPosition pos) {
-        char col = (char) ('a' + pos.getColumn() - 1);
-        return "" + col + pos.getRow();
-    }
-
-    private String pieceTypeToName(chess.ChessPiece.PieceType type) {
-        return switch (type) {
-            case KING -> "King";
-            case QUEEN -> "Queen";
-            case ROOK -> "Rook";
-            case BISHOP -> "Bishop";
-            case KNIGHT -> "Knight";
-            case PAWN -> "Pawn";
-        };
-    }
-
     private void sendError(WsContext ctx, String msg) {
         if (!msg.startsWith("Error")) {
             msg = "Error: " + msg;
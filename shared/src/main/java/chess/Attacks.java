@@ -0,0 +1,103 @@
+package chess;
+
+/**
+ * Precomputed attack sets for each piece type, indexed by Bitboard square.
+ */
+public final class Attacks {
+
+    public static final long[] KNIGHT = new long[64];
+    public static final long[] KING = new long[64];
+
+    /**
+     * Squares attacked by a pawn of the given color standing on a square,
+     * indexed as PAWN[color][square]
+     */
+    public static final long[][] PAWN = new long[2][64];
+
+    /**
+     * Squares strictly between two squares on a shared row, column or diagonal,
+     * indexed as BETWEEN[from][to]; empty when the squares are not aligned
+     */
+    public static final long[][] BETWEEN = new long[64][64];
+
+    /**
+     * The full row, column or diagonal through two aligned squares, indexed as
+     * LINE[a][b]; empty when the squares are not aligned
+     */
+    public static final long[][] LINE = new long[64][64];
+
+    private static final int[][] KNIGHT_STEPS = {
+            { 2,  1}, { 2, -1},
+            {-2,  1}, {-2, -1},
+            { 1,  2}, { 1, -2},
+            {-1,  2}, {-1, -2}
+    };
+
+    private static final int[][] KING_STEPS = {
+            {-1, 1}, {0, 1}, {1, 1},
+            {-1, 0}, {1, 0},
+            {-1, -1}, {0, -1}, {1, -1}
+    };
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            KNIGHT[square] = steps(square, KNIGHT_STEPS);
+            KING[square] = steps(square, KING_STEPS);
+            PAWN[Bitboard.WHITE][square] = steps(square, new int[][] { {1, -1}, {1, 1} });
+            PAWN[Bitboard.BLACK][square] = steps(square, new int[][] { {-1, -1}, {-1, 1} });
+        }
+        for (int a = 0; a < 64; a++) {
+            for (int b = 0; b < 64; b++) {
+                if (a == b) {
+                    continue;
+                }
+                long aBit = 1L << a;
+                long bBit = 1L << b;
+                if ((rook(a, 0L) & bBit) != 0) {
+                    BETWEEN[a][b] = rook(a, bBit) & rook(b, aBit);
+                    LINE[a][b] = (rook(a, 0L) & rook(b, 0L)) | aBit | bBit;
+                } else if ((bishop(a, 0L) & bBit) != 0) {
+                    BETWEEN[a][b] = bishop(a, bBit) & bishop(b, aBit);
+                    LINE[a][b] = (bishop(a, 0L) & bishop(b, 0L)) | aBit | bBit;
+                }
+            }
+        }
+    }
+
+    private Attacks() {
+    }
+
+    /**
+     * @return squares a rook on the given square attacks, stopping at the first
+     * occupied square in each direction
+     */
+    public static long rook(int square, long occupied) {
+        return Magics.rook(square, occupied);
+    }
+
+    /**
+     * @return squares a bishop on the given square attacks, stopping at the first
+     * occupied square in each direction
+     */
+    public static long bishop(int square, long occupied) {
+        return Magics.bishop(square, occupied);
+    }
+
+    public static long queen(int square, long occupied) {
+        return rook(square, occupied) | bishop(square, occupied);
+    }
+
+    private static long steps(int square, int[][] offsets) {
+        long attacks = 0L;
+        int startRow = Bitboard.row(square);
+        int startCol = Bitboard.column(square);
+        for (int[] offset : offsets) {
+            int row = startRow + offset[0];
+            int col = startCol + offset[1];
+            if (row >= 1 && row <= 8 && col >= 1 && col <= 8) {
+                attacks |= 1L << Bitboard.square(row, col);
+            }
+        }
+        return attacks;
+    }
+}
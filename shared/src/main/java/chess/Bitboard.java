@@ -0,0 +1,431 @@
+package chess;
+
+import java.util.Arrays;
+
+/**
+ * Bitboard representation of a chess position: one 64-bit set per colored piece
+ * type, an occupancy mask per team, and a mailbox for constant time square lookups.
+ * <p>
+ * Squares are numbered 0 to 63 with 0 being row 1, column 1 and 63 being row 8,
+ * column 8. Pieces are encoded as {@code color * 6 + type}.
+ */
+public final class Bitboard {
+
+    public static final int WHITE = 0;
+    public static final int BLACK = 1;
+
+    public static final int PAWN = 0;
+    public static final int KNIGHT = 1;
+    public static final int BISHOP = 2;
+    public static final int ROOK = 3;
+    public static final int QUEEN = 4;
+    public static final int KING = 5;
+
+    public static final int EMPTY = -1;
+
+    private static final ChessPiece.PieceType[] PIECE_TYPES = {
+            ChessPiece.PieceType.PAWN,
+            ChessPiece.PieceType.KNIGHT,
+            ChessPiece.PieceType.BISHOP,
+            ChessPiece.PieceType.ROOK,
+            ChessPiece.PieceType.QUEEN,
+            ChessPiece.PieceType.KING
+    };
+
+    private final long[] pieces = new long[12];
+    private final long[] colors = new long[2];
+    private long occupied;
+    private final int[] mailbox = new int[64];
+    private int sideToMove = WHITE;
+    private long key;
+
+    /**
+     * Tapered evaluation terms kept up to date by put and remove, see
+     * PieceSquareTables
+     */
+    private int middlegame;
+    private int endgame;
+    private int phase;
+
+    /**
+     * Undo records for moves made with makeMove, packed as from (6 bits), to (6 bits),
+     * moved piece + 1 (4 bits), captured piece + 1 (4 bits) and a promotion flag.
+     */
+    private int[] undo = new int[64];
+    private int undoCount;
+
+    public Bitboard() {
+        Arrays.fill(mailbox, EMPTY);
+    }
+
+    public Bitboard(Bitboard other) {
+        System.arraycopy(other.pieces, 0, pieces, 0, pieces.length);
+        System.arraycopy(other.colors, 0, colors, 0, colors.length);
+        System.arraycopy(other.mailbox, 0, mailbox, 0, mailbox.length);
+        occupied = other.occupied;
+        sideToMove = other.sideToMove;
+        key = other.key;
+        middlegame = other.middlegame;
+        endgame = other.endgame;
+        phase = other.phase;
+        undo = Arrays.copyOf(other.undo, Math.max(other.undoCount, 64));
+        undoCount = other.undoCount;
+    }
+
+    /**
+     * @return the square index of a 1-based row and column
+     */
+    public static int square(int row, int col) {
+        return (row - 1) * 8 + (col - 1);
+    }
+
+    /**
+     * @return the 1-based row of a square index
+     */
+    public static int row(int square) {
+        return (square >>> 3) + 1;
+    }
+
+    /**
+     * @return the 1-based column of a square index
+     */
+    public static int column(int square) {
+        return (square & 7) + 1;
+    }
+
+    public static int piece(int color, int type) {
+        return color * 6 + type;
+    }
+
+    public static int colorOf(int piece) {
+        return piece < 6 ? WHITE : BLACK;
+    }
+
+    public static int typeOf(int piece) {
+        return piece < 6 ? piece : piece - 6;
+    }
+
+    public static int color(ChessGame.TeamColor color) {
+        return color == ChessGame.TeamColor.WHITE ? WHITE : BLACK;
+    }
+
+    public static ChessGame.TeamColor teamColor(int color) {
+        return color == WHITE ? ChessGame.TeamColor.WHITE : ChessGame.TeamColor.BLACK;
+    }
+
+    public static int type(ChessPiece.PieceType type) {
+        return switch (type) {
+            case PAWN -> PAWN;
+            case KNIGHT -> KNIGHT;
+            case BISHOP -> BISHOP;
+            case ROOK -> ROOK;
+            case QUEEN -> QUEEN;
+            case KING -> KING;
+        };
+    }
+
+    public static ChessPiece.PieceType pieceType(int type) {
+        return PIECE_TYPES[type];
+    }
+
+    /**
+     * @return the shared ChessPosition for a square index
+     */
+    public static ChessPosition position(int square) {
+        return ChessPosition.of(row(square), column(square));
+    }
+
+    /**
+     * @return the shared ChessPiece for a piece code, or null for EMPTY
+     */
+    public static ChessPiece chessPiece(int piece) {
+        if (piece == EMPTY) {
+            return null;
+        }
+        return ChessPiece.of(teamColor(colorOf(piece)), pieceType(typeOf(piece)));
+    }
+
+    /**
+     * @return the piece code for a ChessPiece, or EMPTY for null
+     */
+    public static int piece(ChessPiece piece) {
+        if (piece == null) {
+            return EMPTY;
+        }
+        return piece(color(piece.getTeamColor()), type(piece.getPieceType()));
+    }
+
+    /**
+     * Places a piece on a square, replacing whatever was there
+     *
+     * @param square the square to place the piece on
+     * @param piece  the piece code, or EMPTY to clear the square
+     */
+    public void put(int square, int piece) {
+        if (mailbox[square] != EMPTY) {
+            remove(square);
+        }
+        if (piece == EMPTY) {
+            return;
+        }
+        long bit = 1L << square;
+        pieces[piece] |= bit;
+        colors[colorOf(piece)] |= bit;
+        occupied |= bit;
+        mailbox[square] = piece;
+        key ^= Zobrist.piece(piece, square);
+        middlegame += PieceSquareTables.middlegame(piece, square);
+        endgame += PieceSquareTables.endgame(piece, square);
+        phase += PieceSquareTables.phase(piece);
+    }
+
+    /**
+     * Clears a square
+     *
+     * @param square the square to clear
+     * @return the piece that was removed, or EMPTY
+     */
+    public int remove(int square) {
+        int piece = mailbox[square];
+        if (piece == EMPTY) {
+            return EMPTY;
+        }
+        long mask = ~(1L << square);
+        pieces[piece] &= mask;
+        colors[colorOf(piece)] &= mask;
+        occupied &= mask;
+        mailbox[square] = EMPTY;
+        key ^= Zobrist.piece(piece, square);
+        middlegame -= PieceSquareTables.middlegame(piece, square);
+        endgame -= PieceSquareTables.endgame(piece, square);
+        phase -= PieceSquareTables.phase(piece);
+        return piece;
+    }
+
+    public void clear() {
+        Arrays.fill(pieces, 0L);
+        Arrays.fill(colors, 0L);
+        Arrays.fill(mailbox, EMPTY);
+        occupied = 0L;
+        undoCount = 0;
+        sideToMove = WHITE;
+        key = 0L;
+        middlegame = 0;
+        endgame = 0;
+        phase = 0;
+    }
+
+    public int sideToMove() {
+        return sideToMove;
+    }
+
+    public void setSideToMove(int color) {
+        if (color != sideToMove) {
+            sideToMove = color;
+            key ^= Zobrist.SIDE;
+        }
+    }
+
+    /**
+     * @return the Zobrist key of the pieces and the side to move
+     */
+    public long key() {
+        return key;
+    }
+
+    /**
+     * @return the Zobrist key of the pieces alone, as if white were to move
+     */
+    public long pieceKey() {
+        return sideToMove == WHITE ? key : key ^ Zobrist.SIDE;
+    }
+
+    /**
+     * @return the middlegame piece-square score from white's view
+     */
+    public int middlegameScore() {
+        return middlegame;
+    }
+
+    /**
+     * @return the endgame piece-square score from white's view
+     */
+    public int endgameScore() {
+        return endgame;
+    }
+
+    /**
+     * @return the game phase, from PieceSquareTables.MAX_PHASE in the opening
+     * down to 0 when only kings and pawns remain. Promotions can push it past
+     * MAX_PHASE.
+     */
+    public int phase() {
+        return phase;
+    }
+
+    /**
+     * Moves the piece on one square to another, capturing anything on the target
+     * square, and records how to undo it. A pawn reaching the last row is replaced
+     * by the promotion type when one is given. The side to move is passed to the
+     * other team.
+     *
+     * @param from          the square to move from
+     * @param to            the square to move to
+     * @param promotionType the type to promote a pawn to, or EMPTY for no promotion
+     * @return the undo record pushed for this move
+     */
+    public int makeMove(int from, int to, int promotionType) {
+        int moved = remove(from);
+        int captured = remove(to);
+        int row = row(to);
+        boolean promoted = promotionType != EMPTY && moved != EMPTY && typeOf(moved) == PAWN
+                && (row == 1 || row == 8);
+        if (moved != EMPTY) {
+            put(to, promoted ? piece(colorOf(moved), promotionType) : moved);
+        }
+
+        int record = from | (to << 6) | ((moved + 1) << 12) | ((captured + 1) << 16) | (promoted ? 1 << 20 : 0);
+        if (undoCount == undo.length) {
+            undo = Arrays.copyOf(undo, undoCount * 2);
+        }
+        undo[undoCount++] = record;
+        sideToMove ^= 1;
+        key ^= Zobrist.SIDE;
+        return record;
+    }
+
+    /**
+     * Makes a packed move, see Move
+     *
+     * @param move the packed move
+     * @return the undo record pushed for this move
+     */
+    public int makeMove(int move) {
+        return makeMove(Move.from(move), Move.to(move), Move.promotion(move));
+    }
+
+    /**
+     * Forgets every recorded move, for moves that are final and will never be
+     * unmade, so the undo stack does not grow for the length of a game
+     */
+    void clearUndo() {
+        undoCount = 0;
+    }
+
+    /**
+     * Reverts the most recent move made with makeMove
+     *
+     * @return the undo record that was popped
+     */
+    public int unmakeMove() {
+        if (undoCount == 0) {
+            throw new IllegalStateException("No move to unmake");
+        }
+        int record = undo[--undoCount];
+        int from = undoFrom(record);
+        int to = undoTo(record);
+        int moved = ((record >>> 12) & 0xF) - 1;
+        int captured = ((record >>> 16) & 0xF) - 1;
+
+        remove(to);
+        put(from, moved);
+        if (captured != EMPTY) {
+            put(to, captured);
+        }
+        sideToMove ^= 1;
+        key ^= Zobrist.SIDE;
+        return record;
+    }
+
+    public static int undoFrom(int record) {
+        return record & 0x3F;
+    }
+
+    public static int undoTo(int record) {
+        return (record >>> 6) & 0x3F;
+    }
+
+    /**
+     * Gets the square of a team's king. The king bitboard is maintained by put and
+     * remove, so this does not scan the board.
+     *
+     * @return the king's square, or EMPTY if the team has no king
+     */
+    public int kingSquare(int color) {
+        long king = pieces[piece(color, KING)];
+        return king == 0 ? EMPTY : Long.numberOfTrailingZeros(king);
+    }
+
+    /**
+     * Determines if a square is attacked by a team by looking outward from the
+     * square along slider rays, knight jumps, pawn diagonals and king steps.
+     *
+     * @param square the square to test
+     * @param color  the attacking team
+     * @return True if any piece of the team attacks the square
+     */
+    public boolean isAttacked(int square, int color) {
+        return isAttacked(square, color, occupied);
+    }
+
+    /**
+     * Determines if a square is attacked by a team given a different set of
+     * occupied squares, e.g. with a moving king lifted off the board
+     */
+    public boolean isAttacked(int square, int color, long occupied) {
+        int base = color * 6;
+        if ((Attacks.PAWN[color ^ 1][square] & pieces[base + PAWN]) != 0
+                || (Attacks.KNIGHT[square] & pieces[base + KNIGHT]) != 0
+                || (Attacks.KING[square] & pieces[base + KING]) != 0) {
+            return true;
+        }
+        long queens = pieces[base + QUEEN];
+        return (Attacks.bishop(square, occupied) & (pieces[base + BISHOP] | queens)) != 0
+                || (Attacks.rook(square, occupied) & (pieces[base + ROOK] | queens)) != 0;
+    }
+
+    /**
+     * @return every piece of either team attacking a square
+     */
+    public long attackersTo(int square, long occupied) {
+        long queens = pieces[QUEEN] | pieces[6 + QUEEN];
+        return (Attacks.PAWN[BLACK][square] & pieces[PAWN])
+                | (Attacks.PAWN[WHITE][square] & pieces[6 + PAWN])
+                | (Attacks.KNIGHT[square] & (pieces[KNIGHT] | pieces[6 + KNIGHT]))
+                | (Attacks.KING[square] & (pieces[KING] | pieces[6 + KING]))
+                | (Attacks.bishop(square, occupied) & (pieces[BISHOP] | pieces[6 + BISHOP] | queens))
+                | (Attacks.rook(square, occupied) & (pieces[ROOK] | pieces[6 + ROOK] | queens));
+    }
+
+    /**
+     * @return True if the team's king is attacked; a team without a king is never
+     * in check
+     */
+    public boolean inCheck(int color) {
+        int king = kingSquare(color);
+        return king != EMPTY && isAttacked(king, color ^ 1);
+    }
+
+    /**
+     * @return the piece code on a square, or EMPTY
+     */
+    public int pieceAt(int square) {
+        return mailbox[square];
+    }
+
+    public long pieces(int piece) {
+        return pieces[piece];
+    }
+
+    public long pieces(int color, int type) {
+        return pieces[piece(color, type)];
+    }
+
+    public long occupancy(int color) {
+        return colors[color];
+    }
+
+    public long occupied() {
+        return occupied;
+    }
+}
@@ -1,6 +1,5 @@
 package chess;
 
-import java.util.Arrays;
 import java.util.Objects;
 
 /**
@@ -12,6 +11,14 @@ import java.util.Objects;
 public class ChessBoard {
 
     ChessPiece[][] squares = new ChessPiece[8][8];
+
+    /**
+     * Bitboard view of this board used by move generation. It is transient so the
+     * serialized form stays the 8x8 array, and is rebuilt lazily from squares after
+     * deserialization.
+     */
+    private transient Bitboard bits;
+
     public ChessBoard() {
         
     }
@@ -22,10 +29,13 @@ public class ChessBoard {
             for (int col = 0; col < 8; col++) {
                 ChessPiece piece = other.squares[row][col];
                 if (piece != null) {
-                    this.squares[row][col] = new ChessPiece(piece.getTeamColor(), piece.getPieceType());
+                    this.squares[row][col] = ChessPiece.of(piece.getTeamColor(), piece.getPieceType());
                 }
             }
         }
+        if (other.bits != null) {
+            this.bits = new Bitboard(other.bits);
+        }
     }
 
 
@@ -42,6 +52,9 @@ public class ChessBoard {
      */
     public void addPiece(ChessPosition position, ChessPiece piece) {
         squares[position.getRow()-1][position.getColumn()-1] = piece;
+        if (bits != null) {
+            bits.put(Bitboard.square(position.getRow(), position.getColumn()), Bitboard.piece(piece));
+        }
     }
 
     /**
@@ -55,6 +68,132 @@ public class ChessBoard {
        return squares[position.getRow()-1][position.getColumn()-1];
     }
 
+    /**
+     * Makes a move in place without checking that it is legal. The move can be
+     * reverted with unmakeMove, which restores any captured piece.
+     *
+     * @param move the move to make
+     */
+    public void makeMove(ChessMove move) {
+        ChessPiece.PieceType promotion = move.getPromotionPiece();
+        int record = bitboard().makeMove(
+                Bitboard.square(move.getStartPosition().getRow(), move.getStartPosition().getColumn()),
+                Bitboard.square(move.getEndPosition().getRow(), move.getEndPosition().getColumn()),
+                promotion == null ? Bitboard.EMPTY : Bitboard.type(promotion));
+        syncSquare(Bitboard.undoFrom(record));
+        syncSquare(Bitboard.undoTo(record));
+    }
+
+    /**
+     * Makes a packed move, see makeMove(ChessMove)
+     *
+     * @param move the packed move to make
+     */
+    void makeMove(int move) {
+        int record = bitboard().makeMove(move);
+        syncSquare(Bitboard.undoFrom(record));
+        syncSquare(Bitboard.undoTo(record));
+    }
+
+    /**
+     * Reverts the most recent move made with makeMove
+     */
+    public void unmakeMove() {
+        int record = bitboard().unmakeMove();
+        syncSquare(Bitboard.undoFrom(record));
+        syncSquare(Bitboard.undoTo(record));
+    }
+
+    /**
+     * Replaces the contents of this board with the piece placement of a FEN. The
+     * FEN is parsed straight into the board; if it is malformed the board is left
+     * unchanged.
+     *
+     * @param fen the position to load
+     * @throws IllegalArgumentException if the FEN is malformed
+     */
+    public void loadFen(CharSequence fen) {
+        loadFenWithCounters(fen);
+    }
+
+    /**
+     * Loads a FEN as loadFen does
+     *
+     * @return the move counters, see Fen.load
+     */
+    long loadFenWithCounters(CharSequence fen) {
+        Bitboard target = bitboard();
+        long counters;
+        try {
+            counters = Fen.load(fen, target);
+        } catch (IllegalArgumentException e) {
+            // The squares still hold the old position, so rebuild from them
+            bits = null;
+            throw e;
+        }
+        for (int square = 0; square < 64; square++) {
+            syncSquare(square);
+        }
+        return counters;
+    }
+
+    /**
+     * Appends the FEN piece placement field for this board
+     *
+     * @param out where to append the placement
+     * @return out
+     */
+    public StringBuilder appendFen(StringBuilder out) {
+        return Fen.appendPlacement(bitboard(), out);
+    }
+
+    private void syncSquare(int square) {
+        int piece = bits.pieceAt(square);
+        squares[square >>> 3][square & 7] = Bitboard.chessPiece(piece);
+    }
+
+    /**
+     * Gets the bitboard representation of this board. The returned bitboard is kept
+     * in sync by addPiece and makeMove; changing it directly would leave the
+     * squares stale, so it is only handed out within the package.
+     *
+     * @return the bitboard backing this board
+     */
+    Bitboard bitboard() {
+        if (bits == null) {
+            Bitboard rebuilt = new Bitboard();
+            for (int row = 0; row < 8; row++) {
+                for (int col = 0; col < 8; col++) {
+                    ChessPiece piece = squares[row][col];
+                    if (piece != null) {
+                        rebuilt.put(row * 8 + col, Bitboard.piece(piece));
+                    }
+                }
+            }
+            bits = rebuilt;
+        }
+        return bits;
+    }
+
+    /**
+     * Gets a copy of this board's bitboard, which the caller is free to change
+     *
+     * @return a new bitboard with this board's pieces
+     */
+    public Bitboard copyBitboard() {
+        return new Bitboard(bitboard());
+    }
+
+    /**
+     * Gets the Zobrist key of the pieces on this board. The key is updated
+     * incrementally by addPiece and makeMove, so reading it is constant time.
+     *
+     * @return a 64-bit hash of the piece placement
+     */
+    public long getZobristKey() {
+        return bitboard().pieceKey();
+    }
+
     /**
      * Sets the board to the default starting board
      * (How the game of chess normally starts)
@@ -63,40 +202,40 @@ public class ChessBoard {
         // Step 1: Clear the board first
         for (int row = 1; row <= 8; row++) {
             for (int col = 1; col <= 8; col++) {
-                addPiece(new ChessPosition(row, col), null);
+                addPiece(ChessPosition.of(row, col), null);
             }
         }
 
         // Step 2: Place White pieces
         // White major pieces on row 1
-        addPiece(new ChessPosition(1, 1), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
-        addPiece(new ChessPosition(1, 2), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT));
-        addPiece(new ChessPosition(1, 3), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP));
-        addPiece(new ChessPosition(1, 4), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.QUEEN));
-        addPiece(new ChessPosition(1, 5), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING));
-        addPiece(new ChessPosition(1, 6), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP));
-        addPiece(new ChessPosition(1, 7), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT));
-        addPiece(new ChessPosition(1, 8), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
+        addPiece(ChessPosition.of(1, 1), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
+        addPiece(ChessPosition.of(1, 2), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT));
+        addPiece(ChessPosition.of(1, 3), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP));
+        addPiece(ChessPosition.of(1, 4), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.QUEEN));
+        addPiece(ChessPosition.of(1, 5), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING));
+        addPiece(ChessPosition.of(1, 6), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP));
+        addPiece(ChessPosition.of(1, 7), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT));
+        addPiece(ChessPosition.of(1, 8), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
 
         // White pawns on row 2
         for (int col = 1; col <= 8; col++) {
-            addPiece(new ChessPosition(2, col), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
+            addPiece(ChessPosition.of(2, col), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
         }
 
         // Step 3: Place Black pieces
         // Black major pieces on row 8
-        addPiece(new ChessPosition(8, 1), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK));
-        addPiece(new ChessPosition(8, 2), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT));
-        addPiece(new ChessPosition(8, 3), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP));
-        addPiece(new ChessPosition(8, 4), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.QUEEN));
-        addPiece(new ChessPosition(8, 5), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KING));
-        addPiece(new ChessPosition(8, 6), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP));
-        addPiece(new ChessPosition(8, 7), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT));
-        addPiece(new ChessPosition(8, 8), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK));
+        addPiece(ChessPosition.of(8, 1), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK));
+        addPiece(ChessPosition.of(8, 2), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT));
+        addPiece(ChessPosition.of(8, 3), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP));
+        addPiece(ChessPosition.of(8, 4), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.QUEEN));
+        addPiece(ChessPosition.of(8, 5), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KING));
+        addPiece(ChessPosition.of(8, 6), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP));
+        addPiece(ChessPosition.of(8, 7), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT));
+        addPiece(ChessPosition.of(8, 8), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK));
 
         // Black pawns on row 7
         for (int col = 1; col <= 8; col++) {
-            addPiece(new ChessPosition(7, col), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
+            addPiece(ChessPosition.of(7, col), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
         }
     }
 
@@ -111,6 +250,6 @@ public class ChessBoard {
 
     @Override
     public int hashCode() {
-        return Arrays.deepHashCode(squares);
+        return Long.hashCode(getZobristKey());
     }
 }
@@ -1,6 +1,7 @@
 package chess;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Objects;
 
@@ -11,13 +12,37 @@ import java.util.Objects;
  * signature of the existing methods.
  */
 public class ChessGame {
+    private static final LegalMoveCache MOVE_CACHE = new LegalMoveCache(1 << 16);
+
+    /**
+     * Half moves without a capture or pawn move after which the game is drawn
+     */
+    public static final int FIFTY_MOVE_PLIES = 100;
+
     private ChessBoard board;
     private TeamColor teamTurn;
 
+    /**
+     * Zobrist keys of the positions before each move since the last capture or
+     * pawn move, oldest first. Those moves cannot be undone, so no earlier
+     * position can recur and the keys are dropped whenever one is made.
+     */
+    private long[] history;
+    private int historySize;
+    private int halfmoveClock;
+    private int fullmoveNumber;
+
+    /**
+     * Where legal moves are looked up, or null to generate them on every call.
+     * Not serialized; a deserialized game uses the shared cache.
+     */
+    private transient LegalMoveCache moveCache = MOVE_CACHE;
+
     public ChessGame() {
         this.board = new ChessBoard();
         this.board.resetBoard();
         this.teamTurn = TeamColor.WHITE;
+        this.fullmoveNumber = 1;
     }
 
     /**
@@ -34,6 +59,7 @@ public class ChessGame {
      */
     public void setTeamTurn(TeamColor team) {
         this.teamTurn = team;
+        this.historySize = 0;
     }
 
     /**
@@ -44,6 +70,32 @@ public class ChessGame {
         BLACK
     }
 
+    /**
+     * Enum identifying the state of a game for the team whose turn it is
+     */
+    public enum GameStatus {
+        ONGOING,
+        CHECK,
+        CHECKMATE,
+        STALEMATE,
+        THREEFOLD_REPETITION,
+        FIFTY_MOVE_RULE;
+
+        /**
+         * @return True if no more moves can be made
+         */
+        public boolean isOver() {
+            return this != ONGOING && this != CHECK;
+        }
+
+        /**
+         * @return True if the game ended without a winner
+         */
+        public boolean isDraw() {
+            return isOver() && this != CHECKMATE;
+        }
+    }
+
     /**
      * Gets a valid moves for a piece at the given location
      *
@@ -58,34 +110,30 @@ public class ChessGame {
             return null;
         }
 
-        Collection<ChessMove> candidateMoves = piece.pieceMoves(board, startPosition);
-        Collection<ChessMove> legalMoves = new ArrayList<>();
-
-        for (ChessMove move : candidateMoves) {
-            ChessBoard tempBoard = board.copy();
-
-            tempBoard.addPiece(move.getEndPosition(), tempBoard.getPiece(startPosition));
-            tempBoard.addPiece(move.getStartPosition(), null);
+        int from = Bitboard.square(startPosition.getRow(), startPosition.getColumn());
+        int[] moves = movesFor(board.bitboard(), Bitboard.color(piece.getTeamColor()));
 
-            // Handle pawn promotion
-            if (piece.getPieceType() == ChessPiece.PieceType.PAWN) {
-                int endRow = move.getEndPosition().getRow();
-
-                // If pawn reached the last rank and promotion is requested
-                if ((endRow == 1 || endRow == 8) && move.getPromotionPiece() != null) {
-                    tempBoard.addPiece(move.getEndPosition(),
-                            new ChessPiece(piece.getTeamColor(), move.getPromotionPiece()));
-                }
+        Collection<ChessMove> legalMoves = new ArrayList<>();
+        for (int move : moves) {
+            if (Move.from(move) == from) {
+                legalMoves.add(Move.toChessMove(move));
             }
+        }
+        return legalMoves;
+    }
 
-            ChessGame simulatedGame = new ChessGame();
-            simulatedGame.setBoard(tempBoard);
+    /**
+     * Gets every legal move for the team whose turn it is
+     *
+     * @return all legal moves, empty if the team is in checkmate or stalemate
+     */
+    public Collection<ChessMove> legalMoves() {
+        int[] moves = movesFor(board.bitboard(), Bitboard.color(teamTurn));
 
-            if (!simulatedGame.isInCheck(piece.getTeamColor())) {
-                legalMoves.add(move);
-            }
+        Collection<ChessMove> legalMoves = new ArrayList<>(moves.length);
+        for (int move : moves) {
+            legalMoves.add(Move.toChessMove(move));
         }
-
         return legalMoves;
     }
 
@@ -96,8 +144,8 @@ public class ChessGame {
      * @throws InvalidMoveException if move is invalid
      */
     public void makeMove(ChessMove move) throws InvalidMoveException {
+        checkPackable(move);
         ChessPosition start = move.getStartPosition();
-        ChessPosition end = move.getEndPosition();
 
         ChessPiece piece = board.getPiece(start);
 
@@ -109,111 +157,140 @@ public class ChessGame {
             throw new InvalidMoveException("Not " + piece.getTeamColor() + "'s turn");
         }
 
-        Collection<ChessMove> legalMoves = validMoves(start);
-        if (legalMoves == null || !legalMoves.contains(move)) {
+        Bitboard bits = board.bitboard();
+        int packed = Move.of(move, bits);
+        if (!isLegal(movesFor(bits, Bitboard.color(teamTurn)), packed)) {
             throw new InvalidMoveException("Illegal move");
         }
 
-        board.addPiece(end, piece);
-        board.addPiece(start, null);
-
-
-        if (piece.getPieceType() == ChessPiece.PieceType.PAWN &&
-                (end.getRow() == 1 || end.getRow() == 8) &&
-                move.getPromotionPiece() != null) {
-
-            board.addPiece(end, new ChessPiece(piece.getTeamColor(), move.getPromotionPiece()));
-        }
+        long key = getZobristKey();
+        board.makeMove(move);
+        finishMove(key, Move.isCapture(packed) || piece.getPieceType() == ChessPiece.PieceType.PAWN);
+    }
 
-        // Switch turns
-        teamTurn = (teamTurn == TeamColor.WHITE) ? TeamColor.BLACK : TeamColor.WHITE;
+    /**
+     * Makes a move without checking it or using the move cache, for callers that
+     * took it from a list they generated for this position themselves
+     *
+     * @param move a packed legal move for the team whose turn it is
+     */
+    void makeLegalMove(int move) {
+        long key = getZobristKey();
+        boolean pawn = Bitboard.typeOf(board.bitboard().pieceAt(Move.from(move))) == Bitboard.PAWN;
+        board.makeMove(move);
+        finishMove(key, Move.isCapture(move) || pawn);
     }
 
     /**
-     * Determines if the given team is in check
+     * Updates the clocks and history after a move and passes the turn
      *
-     * @param teamColor which team to check for check
-     * @return True if the specified team is in check
+     * @param key          the Zobrist key of the position before the move
+     * @param irreversible  whether the move was a capture or pawn move
      */
-    public boolean isInCheck(TeamColor teamColor) {
-        // Step 1: Find the king of the team we are checking
-        ChessPosition kingPos = null;
-
-        for (int row = 1; row <= 8; row++) {
-            for (int col = 1; col <= 8; col++) {
-                ChessPosition pos = new ChessPosition(row, col);
-                ChessPiece piece = board.getPiece(pos);
-
-                if (piece != null) {
-                    if (piece.getTeamColor() == teamColor &&
-                            piece.getPieceType() == ChessPiece.PieceType.KING) {
-                        kingPos = pos; // found the king
-                    }
-                }
-            }
+    private void finishMove(long key, boolean irreversible) {
+        // Game moves are never unmade, so do not keep their undo records
+        board.bitboard().clearUndo();
+        if (irreversible) {
+            halfmoveClock = 0;
+            historySize = 0;
+        } else {
+            halfmoveClock++;
+            remember(key);
         }
 
-        // If no king was found (should not happen in a normal game), return false
-        if (kingPos == null) {
-            return false;
+        if (teamTurn == TeamColor.BLACK) {
+            fullmoveNumber++;
         }
 
-        TeamColor opponent;
-        if (teamColor == TeamColor.WHITE) {
-            opponent = TeamColor.BLACK;
-        } else {
-            opponent = TeamColor.WHITE;
-        }
+        // Switch turns
+        teamTurn = (teamTurn == TeamColor.WHITE) ? TeamColor.BLACK : TeamColor.WHITE;
+    }
 
-        for (int row = 1; row <= 8; row++) {
-            for (int col = 1; col <= 8; col++) {
-                ChessPosition pos = new ChessPosition(row, col);
-                ChessPiece piece = board.getPiece(pos);
+    private void remember(long key) {
+        if (history == null) {
+            history = new long[16];
+        } else if (historySize == history.length) {
+            history = Arrays.copyOf(history, historySize * 2);
+        }
+        history[historySize++] = key;
+    }
 
-                if (piece != null && piece.getTeamColor() == opponent) {
-                    if (pieceThreatensKing(piece, pos, kingPos, board)) {
-                        return true;
-                    }
-                }
-            }
+    /**
+     * Rejects moves that cannot be packed faithfully: a square off the board would
+     * pack to a different square on it, and a pawn promotion would pack the same
+     * as no promotion. Kings are rejected with pawns. Any other promotion on a
+     * move that does not promote is not in the legal move list.
+     */
+    private static void checkPackable(ChessMove move) throws InvalidMoveException {
+        if (!isOnBoard(move.getStartPosition()) || !isOnBoard(move.getEndPosition())) {
+            throw new InvalidMoveException("Position off the board");
+        }
+        ChessPiece.PieceType promotion = move.getPromotionPiece();
+        if (promotion == ChessPiece.PieceType.PAWN || promotion == ChessPiece.PieceType.KING) {
+            throw new InvalidMoveException("Cannot promote to " + promotion);
         }
+    }
 
-        return false;
+    private static boolean isOnBoard(ChessPosition position) {
+        return position.getRow() >= 1 && position.getRow() <= 8
+                && position.getColumn() >= 1 && position.getColumn() <= 8;
     }
 
-    private boolean pieceThreatensKing(ChessPiece piece, ChessPosition pos, ChessPosition kingPos, ChessBoard board) {
-        Collection<ChessMove> moves = piece.pieceMoves(board, pos);
-        for (ChessMove move : moves) {
-            if (move.getEndPosition().equals(kingPos)) {
+    private static boolean isLegal(int[] legalMoves, int move) {
+        for (int legal : legalMoves) {
+            if (Move.sameMove(legal, move)) {
                 return true;
             }
         }
         return false;
     }
 
+    /**
+     * Gets the cache of legal moves shared by every game, keyed by position
+     *
+     * @return the shared legal move cache
+     */
+    public static LegalMoveCache moveCache() {
+        return MOVE_CACHE;
+    }
 
-    public boolean isInCheckmate(TeamColor teamColor) {
+    /**
+     * Sets where this game looks up legal moves. Games start with the shared
+     * cache; benchmarks of move generation can pass their own cache or none.
+     *
+     * @param cache the cache to use, or null to generate moves on every call
+     */
+    public void setMoveCache(LegalMoveCache cache) {
+        this.moveCache = cache;
+    }
 
-        if (!isInCheck(teamColor)) {
-            return false;
+    private int[] movesFor(Bitboard bits, int color) {
+        if (moveCache != null) {
+            return moveCache.get(bits, color);
         }
+        IntMoveList moves = new IntMoveList();
+        MoveGenerator.generate(bits, color, moves);
+        return moves.toArray();
+    }
+
+    /**
+     * Determines if the given team is in check
+     *
+     * @param teamColor which team to check for check
+     * @return True if the specified team is in check
+     */
+    public boolean isInCheck(TeamColor teamColor) {
+        return board.bitboard().inCheck(Bitboard.color(teamColor));
+    }
 
-        for (int row = 1; row <= 8; row++) {
-            for (int col = 1; col <= 8; col++) {
-                ChessPosition pos = new ChessPosition(row, col);
-                ChessPiece piece = board.getPiece(pos);
 
-                if (piece != null && piece.getTeamColor() == teamColor) {
-                    Collection<ChessMove> moves = validMoves(pos);
+    public boolean isInCheckmate(TeamColor teamColor) {
 
-                    if (!moves.isEmpty()) {
-                        return false;
-                    }
-                }
-            }
+        if (!isInCheck(teamColor)) {
+            return false;
         }
 
-        return true;
+        return !hasAnyLegalMove(teamColor);
     }
 
     /**
@@ -228,23 +305,161 @@ public class ChessGame {
             return false;
         }
 
-        for (int row = 1; row <= 8; row++) {
-            for (int col = 1; col <= 8; col++) {
-                ChessPosition pos = new ChessPosition(row, col);
-                ChessPiece piece = getBoard().getPiece(pos);
+        return !hasAnyLegalMove(teamColor);
+    }
+
+    /**
+     * Determines the state of the game for the team whose turn it is. Check and
+     * the existence of a legal move are each worked out once, stopping at the
+     * first legal move found.
+     *
+     * @return the status of the team to move
+     */
+    public GameStatus status() {
+        Bitboard bits = board.bitboard();
+        int color = Bitboard.color(teamTurn);
+        boolean inCheck = bits.inCheck(color);
 
-                if (piece != null && piece.getTeamColor() == teamColor) {
-                    Collection<ChessMove> moves = validMoves(pos);
+        if (!MoveGenerator.hasLegalMove(bits, color)) {
+            return inCheck ? GameStatus.CHECKMATE : GameStatus.STALEMATE;
+        }
+        if (isThreefoldRepetition()) {
+            return GameStatus.THREEFOLD_REPETITION;
+        }
+        if (isFiftyMoveRule()) {
+            return GameStatus.FIFTY_MOVE_RULE;
+        }
+        return inCheck ? GameStatus.CHECK : GameStatus.ONGOING;
+    }
 
-                    if (!moves.isEmpty()) {
-                        return false;
-                    }
-                }
+    /**
+     * Determines if the current position, with the same team to move, has occurred
+     * at least twice before. Only positions since the last capture or pawn move are
+     * compared, and only every other one, since the team to move alternates.
+     *
+     * @return True if the position has now occurred three times
+     */
+    public boolean isThreefoldRepetition() {
+        long key = getZobristKey();
+        int occurrences = 1;
+        for (int i = historySize - 2; i >= 0; i -= 2) {
+            if (history[i] == key && ++occurrences == 3) {
+                return true;
             }
         }
+        return false;
+    }
+
+    /**
+     * @return True if FIFTY_MOVE_PLIES half moves have been made without a capture
+     * or pawn move
+     */
+    public boolean isFiftyMoveRule() {
+        return halfmoveClock >= FIFTY_MOVE_PLIES;
+    }
+
+    /**
+     * Gets the number of half moves since the last capture or pawn move
+     *
+     * @return the halfmove clock
+     */
+    public int getHalfmoveClock() {
+        return halfmoveClock;
+    }
+
+    /**
+     * Gets the number of the current move, which starts at 1 and increases after
+     * each black move
+     *
+     * @return the fullmove number
+     */
+    public int getFullmoveNumber() {
+        return fullmoveNumber;
+    }
+
+    /**
+     * Determines if the given team has at least one legal move. Stops at the first
+     * legal move found rather than building every piece's move list.
+     *
+     * @param teamColor which team to look for a move for
+     * @return True if the team can make any move
+     */
+    public boolean hasAnyLegalMove(TeamColor teamColor) {
+        return MoveGenerator.hasLegalMove(board.bitboard(), Bitboard.color(teamColor));
+    }
+
+    /**
+     * Replaces the board, turn and move counters with a FEN position. Positions
+     * before it are unknown, so repetitions are counted from here.
+     *
+     * @param fen the position to load
+     * @throws IllegalArgumentException if the FEN is malformed, in which case the
+     *                                  game is unchanged
+     */
+    public void loadFen(CharSequence fen) {
+        long counters = board.loadFenWithCounters(fen);
+        teamTurn = Bitboard.teamColor(board.bitboard().sideToMove());
+        halfmoveClock = Fen.halfmoveClock(counters);
+        fullmoveNumber = Fen.fullmoveNumber(counters);
+        historySize = 0;
+    }
+
+    /**
+     * Creates a game from a FEN position
+     *
+     * @param fen the position to load
+     * @return a new game at that position
+     * @throws IllegalArgumentException if the FEN is malformed
+     */
+    public static ChessGame fromFen(CharSequence fen) {
+        ChessGame game = new ChessGame();
+        game.loadFen(fen);
+        return game;
+    }
+
+    /**
+     * Appends this game's position in FEN
+     *
+     * @param out where to append the FEN
+     * @return out
+     */
+    public StringBuilder appendFen(StringBuilder out) {
+        return Fen.append(board.bitboard(), Bitboard.color(teamTurn), halfmoveClock, fullmoveNumber, out);
+    }
+
+    /**
+     * @return this game's position in FEN
+     */
+    public String toFen() {
+        return appendFen(new StringBuilder(90)).toString();
+    }
 
-        return true;
+    /**
+     * Appends a move in standard algebraic notation, such as Nf3, exd5 or e8=Q#
+     *
+     * @param move a legal move for the team whose turn it is
+     * @param out  where to append the SAN
+     * @return out
+     * @throws InvalidMoveException if the move is not legal
+     */
+    public StringBuilder appendSan(ChessMove move, StringBuilder out) throws InvalidMoveException {
+        checkPackable(move);
+        Bitboard bits = board.bitboard();
+        IntMoveList legalMoves = new IntMoveList();
+        MoveGenerator.generate(bits, Bitboard.color(teamTurn), legalMoves);
+        int packed = Move.of(move, bits);
+        if (!legalMoves.contains(packed)) {
+            throw new InvalidMoveException("Illegal move");
+        }
+        return San.append(bits, packed, legalMoves, out);
+    }
 
+    /**
+     * @return a legal move in standard algebraic notation, see appendSan
+     * @throws InvalidMoveException if the move is not legal
+     */
+    public String toSan(ChessMove move) throws InvalidMoveException {
+        return appendSan(move, new StringBuilder(8)).toString();
     }
 
     /**
@@ -254,6 +469,9 @@ public class ChessGame {
      */
     public void setBoard(ChessBoard board) {
         this.board = board.copy();
+        this.historySize = 0;
+        this.halfmoveClock = 0;
+        this.fullmoveNumber = 1;
     }
 
     /**
@@ -265,6 +483,35 @@ public class ChessGame {
         return this.board.copy();
     }
 
+    /**
+     * @return the bitboard behind this game's board, for reading only
+     */
+    Bitboard bitboard() {
+        return board.bitboard();
+    }
+
+    /**
+     * Gets a copy of this game's position as a bitboard, with the team whose
+     * turn it is to move
+     *
+     * @return a new bitboard the caller is free to change
+     */
+    public Bitboard copyBitboard() {
+        Bitboard copy = board.copyBitboard();
+        copy.setSideToMove(Bitboard.color(teamTurn));
+        return copy;
+    }
+
+    /**
+     * Gets the Zobrist key of this game's position, including whose turn it is
+     *
+     * @return a 64-bit hash of the position
+     */
+    public long getZobristKey() {
+        long key = board.getZobristKey();
+        return teamTurn == TeamColor.WHITE ? key : key ^ Zobrist.SIDE;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o == null || getClass() != o.getClass()) {
@@ -276,6 +523,6 @@ public class ChessGame {
 
     @Override
     public int hashCode() {
-        return Objects.hash(board, teamTurn);
+        return Long.hashCode(getZobristKey());
     }
 }
@@ -13,6 +13,16 @@ import java.util.Objects;
  */
 public class ChessPiece {
 
+    private static final ChessPiece[][] PIECES = new ChessPiece[2][6];
+
+    static {
+        for (ChessGame.TeamColor color : ChessGame.TeamColor.values()) {
+            for (PieceType type : PieceType.values()) {
+                PIECES[color.ordinal()][type.ordinal()] = new ChessPiece(color, type);
+            }
+        }
+    }
+
     private final ChessGame.TeamColor pieceColor;
     private final PieceType type;
 
@@ -21,6 +31,16 @@ public class ChessPiece {
         this.type = type;
     }
 
+    /**
+     * Gets the shared instance for a piece. Pieces are immutable, so there only
+     * ever needs to be one of each of the 12 kinds.
+     *
+     * @return the canonical piece with the given color and type
+     */
+    public static ChessPiece of(ChessGame.TeamColor pieceColor, ChessPiece.PieceType type) {
+        return PIECES[pieceColor.ordinal()][type.ordinal()];
+    }
+
     /**
      * The various different chess piece options
      */
@@ -54,38 +74,24 @@ public class ChessPiece {
      *
      * @return Collection of valid moves
      */
-    private List<ChessMove> generateSlidingMoves(ChessBoard board, ChessPosition start, int[][] directions) {
+    private List<ChessMove> generateSlidingMoves(ChessBoard board, ChessPosition start, long attacks) {
         List<ChessMove> moves = new ArrayList<>();
         ChessPiece piece = board.getPiece(start);
 
-        for (int[] dir : directions) {
-            int row = start.getRow() + dir[0];
-            int col = start.getColumn() + dir[1];
-
-            while (row >= 1 && row <= 8 && col >= 1 && col <= 8) {
-                ChessPosition targetPos = new ChessPosition(row, col);
-                ChessPiece targetPiece = board.getPiece(targetPos);
-
-                if (targetPiece == null) {
-                    moves.add(new ChessMove(start, targetPos, null));
-                } else if (targetPiece.getTeamColor() != piece.getTeamColor()) {
-                    moves.add(new ChessMove(start, targetPos, null));
-                    break;
-                } else {
-                    break;
-                }
-
-                row += dir[0];
-                col += dir[1];
-            }
+        // Attack sets include the first blocker in each direction, which is only a
+        // valid target when it belongs to the other team
+        long targets = attacks & ~board.bitboard().occupancy(Bitboard.color(piece.getTeamColor()));
+        for (; targets != 0; targets &= targets - 1) {
+            int square = Long.numberOfTrailingZeros(targets);
+            moves.add(new ChessMove(start, Bitboard.position(square), null));
         }
 
         return moves;
     }
 
     public List<ChessMove> getBishopMoves(ChessBoard board, ChessPosition start) {
-        int[][] directions = { {1, 1}, {1, -1}, {-1, 1}, {-1, -1} };
-        return generateSlidingMoves(board, start, directions);
+        int square = Bitboard.square(start.getRow(), start.getColumn());
+        return generateSlidingMoves(board, start, Attacks.bishop(square, board.bitboard().occupied()));
     }
 
 
@@ -114,7 +120,7 @@ public class ChessPiece {
 
             // Make sure we are still on the board
             if (row >= 1 && row <= 8 && col >= 1 && col <= 8) {
-                ChessPosition targetPos = new ChessPosition(row, col);
+                ChessPosition targetPos = ChessPosition.of(row, col);
                 ChessPiece targetPiece = board.getPiece(targetPos);
 
                 if (targetPiece == null) {
@@ -133,8 +139,8 @@ public class ChessPiece {
     }
 
     public List<ChessMove> getRookMoves(ChessBoard board, ChessPosition start) {
-        int[][] directions = { {1, 0}, {0, 1}, {-1, 0}, {0, -1} };
-        return generateSlidingMoves(board, start, directions);
+        int square = Bitboard.square(start.getRow(), start.getColumn());
+        return generateSlidingMoves(board, start, Attacks.rook(square, board.bitboard().occupied()));
     }
 
     public List<ChessMove> getKnightMoves(ChessBoard board, ChessPosition start) {
@@ -158,7 +164,7 @@ public class ChessPiece {
 
             // Only consider moves that stay on the board
             if (row >= 1 && row <= 8 && col >= 1 && col <= 8) {
-                ChessPosition targetPos = new ChessPosition(row, col);
+                ChessPosition targetPos = ChessPosition.of(row, col);
                 ChessPiece targetPiece = board.getPiece(targetPos);
 
                 // Add move if square is empty or has enemy
@@ -201,7 +207,7 @@ public class ChessPiece {
         // ONE STEP FORWARD
         int oneStepRow = startRow + direction;
         if (oneStepRow >= 1 && oneStepRow <= 8) {
-            ChessPosition oneStepPos = new ChessPosition(oneStepRow, startCol);
+            ChessPosition oneStepPos = ChessPosition.of(oneStepRow, startCol);
             if (board.getPiece(oneStepPos) == null) {
                 if (oneStepRow == promotionRow) {
                     for (PieceType type : promotionPieces) {
@@ -221,7 +227,7 @@ public class ChessPiece {
         // Capture to left
         int leftCol = startCol - 1;
         if (captureRow >= 1 && captureRow <= 8 && leftCol >= 1) {
-            ChessPosition leftCapturePos = new ChessPosition(captureRow, leftCol);
+            ChessPosition leftCapturePos = ChessPosition.of(captureRow, leftCol);
             ChessPiece leftPiece = board.getPiece(leftCapturePos);
             if (leftPiece != null && leftPiece.getTeamColor() != piece.getTeamColor()) {
                 if (captureRow == promotionRow) {
@@ -237,7 +243,7 @@ public class ChessPiece {
         // Capture to right
         int rightCol = startCol + 1;
         if (captureRow >= 1 && captureRow <= 8 && rightCol <= 8) {
-            ChessPosition rightCapturePos = new ChessPosition(captureRow, rightCol);
+            ChessPosition rightCapturePos = ChessPosition.of(captureRow, rightCol);
             ChessPiece rightPiece = board.getPiece(rightCapturePos);
             if (rightPiece != null && rightPiece.getTeamColor() != piece.getTeamColor()) {
                 if (captureRow == promotionRow) {
@@ -258,7 +264,7 @@ public class ChessPiece {
         boolean isWhiteStart = piece.getTeamColor() == ChessGame.TeamColor.WHITE && startRow == 2;
         boolean isBlackStart = piece.getTeamColor() == ChessGame.TeamColor.BLACK && startRow == 7;
         if (isWhiteStart || isBlackStart) {
-            ChessPosition twoStepPos = new ChessPosition(startRow + 2 * direction, startCol);
+            ChessPosition twoStepPos = ChessPosition.of(startRow + 2 * direction, startCol);
             if (board.getPiece(twoStepPos) == null) {
                 moves.add(new ChessMove(start, twoStepPos, null));
             }
@@ -268,12 +274,8 @@ public class ChessPiece {
 
 
     public List<ChessMove> getQueenMoves(ChessBoard board, ChessPosition start) {
-        int[][] directions = {
-                {-1, 1}, {0, 1}, {1, 1},
-                {-1, 0}, {1, 0},
-                {-1, -1}, {0, -1}, {1, -1}
-        };
-        return generateSlidingMoves(board, start, directions);
+        int square = Bitboard.square(start.getRow(), start.getColumn());
+        return generateSlidingMoves(board, start, Attacks.queen(square, board.bitboard().occupied()));
     }
 
 
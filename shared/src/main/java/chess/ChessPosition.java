@@ -10,6 +10,16 @@ import java.util.Objects;
  */
 public class ChessPosition {
 
+    private static final ChessPosition[][] POSITIONS = new ChessPosition[8][8];
+
+    static {
+        for (int row = 1; row <= 8; row++) {
+            for (int col = 1; col <= 8; col++) {
+                POSITIONS[row - 1][col - 1] = new ChessPosition(row, col);
+            }
+        }
+    }
+
     private final int row;
     private final int col;
 
@@ -18,6 +28,19 @@ public class ChessPosition {
         this.col = col;
     }
 
+    /**
+     * Gets the shared instance for a square on the board. Positions off the board
+     * are not cached and get a new instance.
+     *
+     * @return the canonical position with the given row and column
+     */
+    public static ChessPosition of(int row, int col) {
+        if (row < 1 || row > 8 || col < 1 || col > 8) {
+            return new ChessPosition(row, col);
+        }
+        return POSITIONS[row - 1][col - 1];
+    }
+
     /**
      * @return which row this position is in
      * 1 codes for the bottom row
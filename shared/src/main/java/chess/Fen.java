@@ -0,0 +1,233 @@
+package chess;
+
+/**
+ * Reads and writes Forsyth-Edwards Notation directly from and to a Bitboard,
+ * without building intermediate strings.
+ * <p>
+ * Piece placement, the side to move and the move counters are used. Castling
+ * rights and the en passant square are accepted but ignored, since this game
+ * does not implement those rules, and are written as "- -".
+ */
+public final class Fen {
+
+    public static final String START = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w - - 0 1";
+
+    private Fen() {
+    }
+
+    /**
+     * Replaces the contents of a bitboard with a FEN position, reading the move
+     * counters in the same pass
+     *
+     * @param fen  the position to read
+     * @param bits the bitboard to fill
+     * @return the move counters, read with halfmoveClock and fullmoveNumber
+     * @throws IllegalArgumentException if the placement, side to move or a move
+     *                                  counter is malformed
+     */
+    public static long load(CharSequence fen, Bitboard bits) {
+        bits.clear();
+        int length = fen.length();
+        int index = 0;
+        int row = 8;
+        int col = 1;
+
+        for (; index < length; index++) {
+            char c = fen.charAt(index);
+            if (c == ' ') {
+                break;
+            }
+            if (c == '/') {
+                if (col != 9 || row == 1) {
+                    throw new IllegalArgumentException("Bad row " + row + " in FEN: " + fen);
+                }
+                row--;
+                col = 1;
+            } else if (c >= '1' && c <= '8') {
+                col += c - '0';
+            } else {
+                int piece = piece(c);
+                if (piece == Bitboard.EMPTY || col > 8) {
+                    throw new IllegalArgumentException("Bad piece '" + c + "' in FEN: " + fen);
+                }
+                bits.put(Bitboard.square(row, col), piece);
+                col++;
+            }
+            if (col > 9) {
+                throw new IllegalArgumentException("Row " + row + " too long in FEN: " + fen);
+            }
+        }
+        if (row != 1 || col != 9) {
+            throw new IllegalArgumentException("Incomplete placement in FEN: " + fen);
+        }
+
+        index = skipSpaces(fen, index);
+        if (index < length) {
+            char side = fen.charAt(index++);
+            if ((side != 'w' && side != 'b') || (index < length && fen.charAt(index) != ' ')) {
+                throw new IllegalArgumentException("Bad side to move in FEN: " + fen);
+            }
+            if (side == 'b') {
+                bits.setSideToMove(Bitboard.BLACK);
+            }
+        }
+
+        // Castling rights and the en passant square are not used
+        for (int field = 0; field < 2; field++) {
+            index = skipSpaces(fen, index);
+            while (index < length && fen.charAt(index) != ' ') {
+                index++;
+            }
+        }
+
+        index = skipSpaces(fen, index);
+        int halfmoveClock = 0;
+        if (index < length) {
+            halfmoveClock = counter(fen, index, "halfmove clock");
+            while (index < length && fen.charAt(index) != ' ') {
+                index++;
+            }
+        }
+        index = skipSpaces(fen, index);
+        int fullmoveNumber = index < length ? Math.max(counter(fen, index, "fullmove number"), 1) : 1;
+        return (long) fullmoveNumber << 32 | halfmoveClock;
+    }
+
+    /**
+     * @param counters the value returned by load
+     * @return the halfmove clock, or 0 if the FEN stops before it
+     */
+    public static int halfmoveClock(long counters) {
+        return (int) counters;
+    }
+
+    /**
+     * @param counters the value returned by load
+     * @return the fullmove number, or 1 if the FEN stops before it or gives 0
+     */
+    public static int fullmoveNumber(long counters) {
+        return (int) (counters >>> 32);
+    }
+
+    private static int skipSpaces(CharSequence fen, int index) {
+        while (index < fen.length() && fen.charAt(index) == ' ') {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Reads the non-negative number starting at index, up to the next space
+     *
+     * @param name what the field is, for the error message
+     */
+    private static int counter(CharSequence fen, int index, String name) {
+        int value = 0;
+        int digits = 0;
+        for (; index < fen.length() && fen.charAt(index) != ' '; index++, digits++) {
+            char c = fen.charAt(index);
+            if (c < '0' || c > '9' || digits == 6) {
+                throw new IllegalArgumentException("Bad " + name + " in FEN: " + fen);
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Appends a position in FEN, with the side to move taken from the bitboard
+     *
+     * @param bits the position to write
+     * @param out  where to append the FEN
+     * @return out
+     */
+    public static StringBuilder append(Bitboard bits, StringBuilder out) {
+        return append(bits, bits.sideToMove(), out);
+    }
+
+    /**
+     * Appends a position in FEN
+     *
+     * @param bits       the position to write
+     * @param sideToMove the Bitboard color whose turn it is
+     * @param out        where to append the FEN
+     * @return out
+     */
+    public static StringBuilder append(Bitboard bits, int sideToMove, StringBuilder out) {
+        return append(bits, sideToMove, 0, 1, out);
+    }
+
+    /**
+     * Appends a position in FEN with its move counters
+     *
+     * @param bits           the position to write
+     * @param sideToMove     the Bitboard color whose turn it is
+     * @param halfmoveClock  half moves since the last capture or pawn move
+     * @param fullmoveNumber the number of the current move, starting at 1 and
+     *                       increasing after each black move
+     * @param out            where to append the FEN
+     * @return out
+     */
+    public static StringBuilder append(Bitboard bits, int sideToMove, int halfmoveClock, int fullmoveNumber,
+                                       StringBuilder out) {
+        appendPlacement(bits, out);
+        return out.append(sideToMove == Bitboard.WHITE ? " w" : " b").append(" - - ").append(halfmoveClock)
+                .append(' ').append(fullmoveNumber);
+    }
+
+    /**
+     * Appends the piece placement field of a FEN, row 8 first
+     *
+     * @param bits the position to write
+     * @param out  where to append the placement
+     * @return out
+     */
+    public static StringBuilder appendPlacement(Bitboard bits, StringBuilder out) {
+        for (int row = 8; row >= 1; row--) {
+            int empty = 0;
+            for (int col = 1; col <= 8; col++) {
+                int piece = bits.pieceAt(Bitboard.square(row, col));
+                if (piece == Bitboard.EMPTY) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    out.append((char) ('0' + empty));
+                    empty = 0;
+                }
+                out.append(letter(piece));
+            }
+            if (empty > 0) {
+                out.append((char) ('0' + empty));
+            }
+            if (row > 1) {
+                out.append('/');
+            }
+        }
+        return out;
+    }
+
+    /**
+     * @return the FEN letter for a piece code
+     */
+    static char letter(int piece) {
+        char letter = "pnbrqk".charAt(Bitboard.typeOf(piece));
+        return Bitboard.colorOf(piece) == Bitboard.WHITE ? Character.toUpperCase(letter) : letter;
+    }
+
+    /**
+     * @return the piece code for a FEN letter, or Bitboard.EMPTY if it is not one
+     */
+    static int piece(char c) {
+        int color = Character.isUpperCase(c) ? Bitboard.WHITE : Bitboard.BLACK;
+        return switch (Character.toLowerCase(c)) {
+            case 'p' -> Bitboard.piece(color, Bitboard.PAWN);
+            case 'n' -> Bitboard.piece(color, Bitboard.KNIGHT);
+            case 'b' -> Bitboard.piece(color, Bitboard.BISHOP);
+            case 'r' -> Bitboard.piece(color, Bitboard.ROOK);
+            case 'q' -> Bitboard.piece(color, Bitboard.QUEEN);
+            case 'k' -> Bitboard.piece(color, Bitboard.KING);
+            default -> Bitboard.EMPTY;
+        };
+    }
+}
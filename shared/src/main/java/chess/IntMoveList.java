@@ -0,0 +1,88 @@
+package chess;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * A growable list of packed moves backed by an int array. Lists are meant to be
+ * cleared and reused rather than reallocated for every position.
+ */
+public final class IntMoveList {
+
+    private int[] moves;
+    private int size;
+
+    public IntMoveList() {
+        this(64);
+    }
+
+    public IntMoveList(int capacity) {
+        moves = new int[Math.max(capacity, 1)];
+    }
+
+    public void add(int move) {
+        if (size == moves.length) {
+            moves = Arrays.copyOf(moves, size * 2);
+        }
+        moves[size++] = move;
+    }
+
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return moves[index];
+    }
+
+    public void set(int index, int move) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        moves[index] = move;
+    }
+
+    public void swap(int i, int j) {
+        int move = moves[i];
+        moves[i] = moves[j];
+        moves[j] = move;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * @return True if the list holds a move with the same squares and promotion
+     */
+    public boolean contains(int move) {
+        for (int i = 0; i < size; i++) {
+            if (Move.sameMove(moves[i], move)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(moves, size);
+    }
+
+    /**
+     * Converts every move in the list to a ChessMove
+     *
+     * @param out where to add the converted moves
+     */
+    public void toChessMoves(Collection<ChessMove> out) {
+        for (int i = 0; i < size; i++) {
+            out.add(Move.toChessMove(moves[i]));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package chess;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of legal move lists keyed by the Zobrist key of the position
+ * and the team to move. The cache is direct-mapped: each key has exactly one
+ * slot, and a new entry simply replaces whatever was there, so memory use is
+ * fixed and lookups never lock.
+ * <p>
+ * Entries are immutable and published through an AtomicReferenceArray, so the
+ * cache can be shared by every game on the server. The full 64-bit key is
+ * stored with each entry and checked on lookup.
+ */
+public final class LegalMoveCache {
+
+    private record Entry(long key, int[] moves) {
+    }
+
+    private final AtomicReferenceArray<Entry> entries;
+    private final int mask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param capacity the number of positions to hold, rounded up to a power of two
+     */
+    public LegalMoveCache(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Bad capacity " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.entries = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Gets the legal moves for a team, generating and storing them if the position
+     * is not cached. The returned array is shared and must not be modified.
+     *
+     * @param bits  the position to get moves for
+     * @param color the team to move
+     * @return the packed legal moves
+     */
+    public int[] get(Bitboard bits, int color) {
+        long key = key(bits, color);
+        int index = (int) key & mask;
+        Entry entry = entries.get(index);
+        if (entry != null && entry.key() == key) {
+            hits.increment();
+            return entry.moves();
+        }
+
+        misses.increment();
+        IntMoveList moves = new IntMoveList();
+        MoveGenerator.generate(bits, color, moves);
+        int[] generated = moves.toArray();
+        entries.set(index, new Entry(key, generated));
+        return generated;
+    }
+
+    /**
+     * @return the cache key for a position with the given team to move
+     */
+    public static long key(Bitboard bits, int color) {
+        long key = bits.pieceKey();
+        return color == Bitboard.WHITE ? key : key ^ Zobrist.SIDE;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Removes every entry and resets the counters
+     */
+    public void clear() {
+        for (int i = 0; i <= mask; i++) {
+            entries.set(i, null);
+        }
+        hits.reset();
+        misses.reset();
+    }
+}
@@ -0,0 +1,114 @@
+package chess;
+
+/**
+ * Packs a move into an int so move lists can be stored in primitive arrays.
+ * <p>
+ * Bits 0-5 hold the start square, bits 6-11 the end square, bits 12-14 the
+ * promotion type (0 for none, otherwise a Bitboard piece type) and the bits above
+ * that hold flags. The value 0 is never a real move and is used as NONE.
+ */
+public final class Move {
+
+    public static final int NONE = 0;
+
+    public static final int CAPTURE = 1 << 15;
+    public static final int DOUBLE_PUSH = 1 << 16;
+
+    private Move() {
+    }
+
+    /**
+     * @param from      the start square
+     * @param to        the end square
+     * @param promotion the Bitboard type to promote to, or Bitboard.EMPTY
+     * @param flags     any of the flag bits
+     * @return the packed move
+     */
+    public static int encode(int from, int to, int promotion, int flags) {
+        return from | (to << 6) | (promotion == Bitboard.EMPTY ? 0 : promotion << 12) | flags;
+    }
+
+    public static int from(int move) {
+        return move & 0x3F;
+    }
+
+    public static int to(int move) {
+        return (move >>> 6) & 0x3F;
+    }
+
+    /**
+     * @return the Bitboard type to promote to, or Bitboard.EMPTY if none
+     */
+    public static int promotion(int move) {
+        int promotion = (move >>> 12) & 0x7;
+        return promotion == 0 ? Bitboard.EMPTY : promotion;
+    }
+
+    public static boolean isCapture(int move) {
+        return (move & CAPTURE) != 0;
+    }
+
+    public static boolean isPromotion(int move) {
+        return (move & (0x7 << 12)) != 0;
+    }
+
+    /**
+     * @return True if both moves have the same squares and promotion, ignoring flags
+     */
+    public static boolean sameMove(int a, int b) {
+        return (a & 0x7FFF) == (b & 0x7FFF);
+    }
+
+    /**
+     * Converts a packed move to a ChessMove
+     *
+     * @param move the packed move
+     * @return an equivalent ChessMove
+     */
+    public static ChessMove toChessMove(int move) {
+        int promotion = promotion(move);
+        return new ChessMove(Bitboard.position(from(move)), Bitboard.position(to(move)),
+                promotion == Bitboard.EMPTY ? null : Bitboard.pieceType(promotion));
+    }
+
+    /**
+     * Packs a ChessMove, using the board to fill in the flags
+     *
+     * @param move the move to pack
+     * @param bits the position the move is made from
+     * @return the packed move
+     */
+    public static int of(ChessMove move, Bitboard bits) {
+        int from = Bitboard.square(move.getStartPosition().getRow(), move.getStartPosition().getColumn());
+        int to = Bitboard.square(move.getEndPosition().getRow(), move.getEndPosition().getColumn());
+        int promotion = move.getPromotionPiece() == null ? Bitboard.EMPTY : Bitboard.type(move.getPromotionPiece());
+
+        int flags = 0;
+        if (bits.pieceAt(to) != Bitboard.EMPTY) {
+            flags |= CAPTURE;
+        }
+        int moved = bits.pieceAt(from);
+        if (moved != Bitboard.EMPTY && Bitboard.typeOf(moved) == Bitboard.PAWN && Math.abs(to - from) == 16) {
+            flags |= DOUBLE_PUSH;
+        }
+        return encode(from, to, promotion, flags);
+    }
+
+    /**
+     * @return the move in coordinate notation, e.g. e2e4 or e7e8q
+     */
+    public static String toString(int move) {
+        StringBuilder out = new StringBuilder(5);
+        appendSquare(out, from(move));
+        appendSquare(out, to(move));
+        int promotion = promotion(move);
+        if (promotion != Bitboard.EMPTY) {
+            out.append("pnbrqk".charAt(promotion));
+        }
+        return out.toString();
+    }
+
+    private static void appendSquare(StringBuilder out, int square) {
+        out.append((char) ('a' + (square & 7))).append((char) ('1' + (square >>> 3)));
+    }
+}
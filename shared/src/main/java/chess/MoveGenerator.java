@@ -0,0 +1,268 @@
+package chess;
+
+/**
+ * Generates legal moves directly from a Bitboard. Checking and pinned pieces are
+ * computed once per call, so moves are never simulated to find out whether they
+ * leave the king in check. Moves are written as packed ints (see Move) into a
+ * caller-supplied IntMoveList.
+ */
+public final class MoveGenerator {
+
+    private static final int[] PROMOTION_TYPES = {
+            Bitboard.QUEEN, Bitboard.ROOK, Bitboard.BISHOP, Bitboard.KNIGHT
+    };
+
+    /**
+     * Order hasLegalMove tries piece types in after the king: knights have fixed
+     * targets and are rarely all blocked, while sliders need a magic lookup
+     */
+    private static final int[] SEARCH_ORDER = {
+            Bitboard.KNIGHT, Bitboard.PAWN, Bitboard.BISHOP, Bitboard.ROOK, Bitboard.QUEEN
+    };
+
+    private MoveGenerator() {
+    }
+
+    /**
+     * Adds every legal move for a team to a list
+     *
+     * @param bits  the position to generate moves for
+     * @param color the team to move
+     * @param moves where to add the moves
+     */
+    public static void generate(Bitboard bits, int color, IntMoveList moves) {
+        generate(bits, color, ~0L, moves);
+    }
+
+    /**
+     * Adds the legal moves for a team's pieces on the given squares to a list
+     *
+     * @param bits     the position to generate moves for
+     * @param color    the team to move
+     * @param fromMask squares whose pieces should have moves generated
+     * @param moves    where to add the moves
+     */
+    public static void generate(Bitboard bits, int color, long fromMask, IntMoveList moves) {
+        long us = bits.occupancy(color);
+        long them = bits.occupancy(color ^ 1);
+        long occupied = bits.occupied();
+        long kings = bits.pieces(color, Bitboard.KING);
+
+        if (Long.bitCount(kings) > 1) {
+            generateBySimulation(bits, color, fromMask, moves);
+            return;
+        }
+
+        long checkMask = ~0L;
+        long pinned = 0L;
+        int king = bits.kingSquare(color);
+
+        if (king != Bitboard.EMPTY) {
+            if ((fromMask & kings) != 0) {
+                addKingMoves(bits, color, king, us, them, occupied, moves);
+            }
+
+            long checkers = bits.attackersTo(king, occupied) & them;
+            if (Long.bitCount(checkers) > 1) {
+                return;
+            }
+            if (checkers != 0) {
+                checkMask = checkers | Attacks.BETWEEN[king][Long.numberOfTrailingZeros(checkers)];
+            }
+            pinned = pinnedPieces(bits, color, king, us, them, occupied);
+        }
+
+        for (long pieces = us & ~kings & fromMask; pieces != 0; pieces &= pieces - 1) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            int type = Bitboard.typeOf(bits.pieceAt(from));
+            long allowed = checkMask;
+            if ((pinned & (1L << from)) != 0) {
+                allowed &= Attacks.LINE[king][from];
+            }
+
+            if (type == Bitboard.PAWN) {
+                addPawnMoves(color, from, them, occupied, allowed, moves);
+            } else {
+                addMoves(from, attacks(type, from, occupied) & ~us & allowed, them, moves);
+            }
+        }
+    }
+
+    /**
+     * Determines whether a team has any legal move, stopping at the first one found
+     * instead of generating the full list. The king is tried first, then the
+     * other pieces from cheapest to most expensive to test.
+     *
+     * @param bits  the position to look at
+     * @param color the team to move
+     * @return True if the team has at least one legal move
+     */
+    public static boolean hasLegalMove(Bitboard bits, int color) {
+        long us = bits.occupancy(color);
+        long them = bits.occupancy(color ^ 1);
+        long occupied = bits.occupied();
+        long kings = bits.pieces(color, Bitboard.KING);
+
+        if (Long.bitCount(kings) > 1) {
+            IntMoveList moves = new IntMoveList();
+            generateBySimulation(bits, color, ~0L, moves);
+            return !moves.isEmpty();
+        }
+
+        long checkMask = ~0L;
+        long pinned = 0L;
+        int king = bits.kingSquare(color);
+
+        if (king != Bitboard.EMPTY) {
+            if (hasKingMove(bits, color, king, us, occupied)) {
+                return true;
+            }
+
+            long checkers = bits.attackersTo(king, occupied) & them;
+            if (Long.bitCount(checkers) > 1) {
+                return false;
+            }
+            if (checkers != 0) {
+                checkMask = checkers | Attacks.BETWEEN[king][Long.numberOfTrailingZeros(checkers)];
+            }
+            pinned = pinnedPieces(bits, color, king, us, them, occupied);
+        }
+
+        for (int type : SEARCH_ORDER) {
+            for (long pieces = bits.pieces(color, type); pieces != 0; pieces &= pieces - 1) {
+                int from = Long.numberOfTrailingZeros(pieces);
+                long allowed = checkMask;
+                if ((pinned & (1L << from)) != 0) {
+                    allowed &= Attacks.LINE[king][from];
+                }
+
+                long targets = type == Bitboard.PAWN
+                        ? pawnTargets(color, from, them, occupied)
+                        : attacks(type, from, occupied) & ~us;
+                if ((targets & allowed) != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static long attacks(int type, int from, long occupied) {
+        return switch (type) {
+            case Bitboard.KNIGHT -> Attacks.KNIGHT[from];
+            case Bitboard.BISHOP -> Attacks.bishop(from, occupied);
+            case Bitboard.ROOK -> Attacks.rook(from, occupied);
+            case Bitboard.QUEEN -> Attacks.queen(from, occupied);
+            default -> Attacks.KING[from];
+        };
+    }
+
+    private static long pinnedPieces(Bitboard bits, int color, int king, long us, long them, long occupied) {
+        int enemy = color ^ 1;
+        long queens = bits.pieces(enemy, Bitboard.QUEEN);
+        long snipers = (Attacks.rook(king, them) & (bits.pieces(enemy, Bitboard.ROOK) | queens))
+                | (Attacks.bishop(king, them) & (bits.pieces(enemy, Bitboard.BISHOP) | queens));
+
+        long pinned = 0L;
+        for (; snipers != 0; snipers &= snipers - 1) {
+            long blockers = Attacks.BETWEEN[king][Long.numberOfTrailingZeros(snipers)] & occupied;
+            if (Long.bitCount(blockers) == 1) {
+                pinned |= blockers & us;
+            }
+        }
+        return pinned;
+    }
+
+    private static boolean hasKingMove(Bitboard bits, int color, int king, long us, long occupied) {
+        long withoutKing = occupied & ~(1L << king);
+        for (long targets = Attacks.KING[king] & ~us; targets != 0; targets &= targets - 1) {
+            if (!bits.isAttacked(Long.numberOfTrailingZeros(targets), color ^ 1, withoutKing)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void addKingMoves(Bitboard bits, int color, int king, long us, long them, long occupied,
+                                     IntMoveList moves) {
+        long withoutKing = occupied & ~(1L << king);
+        for (long targets = Attacks.KING[king] & ~us; targets != 0; targets &= targets - 1) {
+            int to = Long.numberOfTrailingZeros(targets);
+            if (!bits.isAttacked(to, color ^ 1, withoutKing)) {
+                moves.add(Move.encode(king, to, Bitboard.EMPTY, (them & (1L << to)) != 0 ? Move.CAPTURE : 0));
+            }
+        }
+    }
+
+    private static long pawnTargets(int color, int from, long them, long occupied) {
+        int forward = color == Bitboard.WHITE ? 8 : -8;
+        int one = from + forward;
+        long targets = Attacks.PAWN[color][from] & them;
+
+        if (one >= 0 && one < 64 && (occupied & (1L << one)) == 0) {
+            targets |= 1L << one;
+            int row = Bitboard.row(from);
+            boolean startRow = color == Bitboard.WHITE ? row == 2 : row == 7;
+            int two = one + forward;
+            if (startRow && (occupied & (1L << two)) == 0) {
+                targets |= 1L << two;
+            }
+        }
+        return targets;
+    }
+
+    private static void addPawnMoves(int color, int from, long them, long occupied, long allowed,
+                                     IntMoveList moves) {
+        long targets = pawnTargets(color, from, them, occupied) & allowed;
+
+        int promotionRow = color == Bitboard.WHITE ? 8 : 1;
+        for (; targets != 0; targets &= targets - 1) {
+            int to = Long.numberOfTrailingZeros(targets);
+            int flags = (them & (1L << to)) != 0 ? Move.CAPTURE : Math.abs(to - from) == 16 ? Move.DOUBLE_PUSH : 0;
+            if (Bitboard.row(to) == promotionRow) {
+                for (int type : PROMOTION_TYPES) {
+                    moves.add(Move.encode(from, to, type, flags));
+                }
+            } else {
+                moves.add(Move.encode(from, to, Bitboard.EMPTY, flags));
+            }
+        }
+    }
+
+    private static void addMoves(int from, long targets, long them, IntMoveList moves) {
+        for (; targets != 0; targets &= targets - 1) {
+            int to = Long.numberOfTrailingZeros(targets);
+            moves.add(Move.encode(from, to, Bitboard.EMPTY, (them & (1L << to)) != 0 ? Move.CAPTURE : 0));
+        }
+    }
+
+    /**
+     * Fallback for positions with more than one king of a color, where the pin and
+     * check masks are not well defined: generate every target and test it on the board.
+     */
+    private static void generateBySimulation(Bitboard bits, int color, long fromMask, IntMoveList moves) {
+        long us = bits.occupancy(color);
+        long them = bits.occupancy(color ^ 1);
+        long occupied = bits.occupied();
+
+        IntMoveList candidates = new IntMoveList();
+        for (long pieces = us & fromMask; pieces != 0; pieces &= pieces - 1) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            int type = Bitboard.typeOf(bits.pieceAt(from));
+            if (type == Bitboard.PAWN) {
+                addPawnMoves(color, from, them, occupied, ~0L, candidates);
+            } else {
+                addMoves(from, attacks(type, from, occupied) & ~us, them, candidates);
+            }
+        }
+
+        for (int i = 0; i < candidates.size(); i++) {
+            int move = candidates.get(i);
+            bits.makeMove(move);
+            if (!bits.inCheck(color)) {
+                moves.add(move);
+            }
+            bits.unmakeMove();
+        }
+    }
+}
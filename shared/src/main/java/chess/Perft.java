@@ -0,0 +1,211 @@
+package chess;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Counts the leaf nodes of the legal move tree to a fixed depth. Comparing the
+ * counts against known values is the standard way to check a move generator, and
+ * timing them measures raw generation speed.
+ * <p>
+ * Run as a program to benchmark: with no arguments every reference position is
+ * checked, otherwise the arguments are a FEN followed by a depth. Starting the
+ * arguments with "divide" splits the count by root move across all cores.
+ */
+public final class Perft {
+
+    /**
+     * A position with its expected node counts, where counts[i] is the count at
+     * depth i + 1
+     */
+    public record Reference(String name, String fen, long... counts) {
+    }
+
+    /**
+     * Reference positions whose published counts are not affected by castling or
+     * en passant, which this game does not implement, at the depths listed
+     */
+    public static final List<Reference> REFERENCES = List.of(
+            new Reference("start", Fen.START,
+                    20, 400, 8_902, 197_281),
+            new Reference("edwards", "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+                    46, 2_079, 89_890, 3_894_594),
+            new Reference("promotions", "n1n5/PPPk4/8/8/8/8/4Kppp/5N1N b - - 0 1",
+                    24, 496, 9_483, 182_838, 3_605_103),
+            new Reference("discovered check", "8/8/2k5/5q2/5n2/8/5K2/8 b - - 0 1",
+                    37, 183, 6_559, 23_527),
+            new Reference("promote to check", "2K2r2/4P3/8/8/8/8/8/3k4 w - - 0 1",
+                    11, 133, 1_442, 19_174, 266_199, 3_821_001),
+            new Reference("self stalemate", "K1k5/8/P7/8/8/8/8/8 w - - 0 1",
+                    2, 6, 13, 63, 382, 2_217),
+            new Reference("underpromote", "8/P1k5/K7/8/8/8/8/8 w - - 0 1",
+                    6, 27, 273, 1_329, 18_135, 92_683)
+    );
+
+    /**
+     * The node count below one root move
+     */
+    public record Division(int move, long nodes) {
+    }
+
+    private final Bitboard bits;
+    private final IntMoveList[] lists;
+
+    /**
+     * @param bits     the position to count from; it is modified during counting
+     *                 and restored afterwards
+     * @param maxDepth the deepest count this instance will be asked for
+     */
+    public Perft(Bitboard bits, int maxDepth) {
+        this.bits = bits;
+        this.lists = new IntMoveList[Math.max(maxDepth, 1)];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = new IntMoveList();
+        }
+    }
+
+    /**
+     * @return the number of leaf nodes at the given depth for the side to move
+     */
+    public long count(int depth) {
+        if (depth > lists.length) {
+            throw new IllegalArgumentException("Depth " + depth + " exceeds " + lists.length);
+        }
+        return depth <= 0 ? 1 : count(depth, 0);
+    }
+
+    private long count(int depth, int ply) {
+        IntMoveList moves = lists[ply];
+        moves.clear();
+        MoveGenerator.generate(bits, bits.sideToMove(), moves);
+        if (depth == 1) {
+            return moves.size();
+        }
+
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            bits.makeMove(moves.get(i));
+            nodes += count(depth - 1, ply + 1);
+            bits.unmakeMove();
+        }
+        return nodes;
+    }
+
+    /**
+     * @return the number of leaf nodes at the given depth from a FEN position
+     */
+    public static long count(CharSequence fen, int depth) {
+        Bitboard bits = new Bitboard();
+        Fen.load(fen, bits);
+        return new Perft(bits, depth).count(depth);
+    }
+
+    /**
+     * Counts the nodes below each root move in parallel. Every root move is a
+     * separate fork/join task working on its own copy of the position.
+     *
+     * @param bits  the position to divide; it is not modified
+     * @param depth the depth to count to, including the root move
+     * @param pool  the pool to run the tasks on
+     * @return the count for each legal root move, in generation order
+     */
+    public static List<Division> divide(Bitboard bits, int depth, ForkJoinPool pool) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Depth must be at least 1");
+        }
+        IntMoveList moves = new IntMoveList();
+        MoveGenerator.generate(bits, bits.sideToMove(), moves);
+
+        List<RootTask> tasks = new ArrayList<>(moves.size());
+        for (int i = 0; i < moves.size(); i++) {
+            tasks.add(new RootTask(bits, moves.get(i), depth - 1));
+        }
+        return pool.invoke(new RecursiveTask<>() {
+            @Override
+            protected List<Division> compute() {
+                invokeAll(tasks);
+                List<Division> divisions = new ArrayList<>(tasks.size());
+                for (RootTask task : tasks) {
+                    divisions.add(new Division(task.move, task.join()));
+                }
+                return divisions;
+            }
+        });
+    }
+
+    private static final class RootTask extends RecursiveTask<Long> {
+        private final Bitboard root;
+        private final int move;
+        private final int depth;
+
+        RootTask(Bitboard root, int move, int depth) {
+            this.root = root;
+            this.move = move;
+            this.depth = depth;
+        }
+
+        @Override
+        protected Long compute() {
+            Bitboard bits = new Bitboard(root);
+            bits.makeMove(move);
+            return new Perft(bits, depth).count(depth);
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length >= 1 && args[0].equals("divide")) {
+            divideReport(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length >= 2) {
+            int depth = Integer.parseInt(args[args.length - 1]);
+            String fen = String.join(" ", Arrays.copyOf(args, args.length - 1));
+            report(fen, depth, -1);
+            return;
+        }
+
+        boolean passed = true;
+        for (Reference reference : REFERENCES) {
+            int depth = reference.counts().length;
+            System.out.print(reference.name() + ": ");
+            passed &= report(reference.fen(), depth, reference.counts()[depth - 1]);
+        }
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    private static void divideReport(String[] args) {
+        int depth = Integer.parseInt(args[args.length - 1]);
+        String fen = args.length > 1 ? String.join(" ", Arrays.copyOf(args, args.length - 1)) : Fen.START;
+        Bitboard bits = new Bitboard();
+        Fen.load(fen, bits);
+
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        long start = System.nanoTime();
+        List<Division> divisions = divide(bits, depth, pool);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long nodes = 0;
+        for (Division division : divisions) {
+            System.out.println(Move.toString(division.move()) + ": " + division.nodes());
+            nodes += division.nodes();
+        }
+        System.out.printf("%d moves, %,d nodes in %.3f s (%,.0f nodes/s on %d threads)%n", divisions.size(),
+                nodes, seconds, nodes / seconds, pool.getParallelism());
+    }
+
+    private static boolean report(String fen, int depth, long expected) {
+        long start = System.nanoTime();
+        long nodes = count(fen, depth);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        boolean passed = expected < 0 || nodes == expected;
+        System.out.printf("depth %d, %,d nodes in %.3f s (%,.0f nodes/s)%s%n", depth, nodes, seconds,
+                nodes / seconds, passed ? "" : " expected " + expected);
+        return passed;
+    }
+}
@@ -0,0 +1,312 @@
+package chess;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Validates a PGN file in parallel. The file is cut into chunks of roughly equal
+ * size at game boundaries, and each chunk is replayed through ChessGame by a
+ * fork/join task with its own PgnReader. Tasks stream their byte range from the
+ * file rather than copying it, so memory use does not depend on the size of a
+ * chunk, which can be far larger than requested when the file has no game
+ * boundary to cut at.
+ * <p>
+ * Results go to a sink either in file order or, with less waiting, in whatever
+ * order chunks finish. An unordered sink is called from several threads at once.
+ * <p>
+ * Run as a program with a PGN file to print a throughput report; add "unordered"
+ * to skip ordering.
+ */
+public final class PgnBatch {
+
+    public static final int DEFAULT_CHUNK_BYTES = 1 << 22;
+
+    /**
+     * How far past a chunk's nominal end to read at a time looking for the start
+     * of the next game
+     */
+    private static final int SCAN_BYTES = 1 << 16;
+
+    /**
+     * Totals for a batch
+     */
+    public record Report(long games, long valid, long plies, long bytes, long nanos, int threads) {
+
+        public double gamesPerSecond() {
+            return games / (nanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            double seconds = nanos / 1e9;
+            return String.format("%,d games (%,d valid), %,d plies in %.3f s: %,.0f games/s, %,.1f MB/s on %d threads",
+                    games, valid, plies, seconds, games / seconds, bytes / seconds / (1 << 20), threads);
+        }
+    }
+
+    private final ForkJoinPool pool;
+    private final int chunkBytes;
+
+    /**
+     * @param pool       the pool to replay chunks on
+     * @param chunkBytes the approximate number of bytes each task reads
+     */
+    public PgnBatch(ForkJoinPool pool, int chunkBytes) {
+        if (chunkBytes < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.pool = pool;
+        this.chunkBytes = chunkBytes;
+    }
+
+    /**
+     * Replays every game in a PGN file
+     *
+     * @param file    the file to read, decoded as UTF-8
+     * @param ordered whether the sink must see games in file order
+     * @param sink    receives each game's outcome
+     * @return totals for the whole file
+     * @throws IOException if the file cannot be read
+     */
+    public Report validate(Path file, boolean ordered, Consumer<ValidatedGame> sink) throws IOException {
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] bounds = chunkBounds(channel);
+            Output output = ordered ? new OrderedOutput(sink) : new UnorderedOutput(sink);
+            try {
+                pool.invoke(new ChunkTask(channel, bounds, 0, bounds.length - 1, output));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return new Report(output.games.get(), output.valid.get(), output.plies.get(), channel.size(),
+                    System.nanoTime() - start, pool.getParallelism());
+        }
+    }
+
+    /**
+     * @return the start of every chunk followed by the end of the file
+     */
+    long[] chunkBounds(FileChannel channel) throws IOException {
+        long size = channel.size();
+        List<Long> bounds = new ArrayList<>();
+        long start = 0;
+        while (start < size) {
+            bounds.add(start);
+            start = start + chunkBytes >= size ? size : nextGame(channel, start + chunkBytes);
+        }
+        bounds.add(size);
+
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bounds.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Finds the first tag section that starts after a blank line at or after an
+     * offset, which is where a new game begins
+     *
+     * @return the offset of the tag's '[', or the file size if there is none
+     */
+    private static long nextGame(FileChannel channel, long from) throws IOException {
+        long size = channel.size();
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BYTES);
+        // Line breaks seen since the last non-blank character, carried across reads.
+        // CR, LF and CRLF each end a line.
+        int newlines = 0;
+        byte previous = 0;
+        for (long offset = from; offset < size; offset += buffer.limit()) {
+            buffer.clear();
+            while (buffer.hasRemaining() && channel.read(buffer, offset + buffer.position()) > 0) {
+                // Fill the buffer
+            }
+            buffer.flip();
+            for (int i = 0; i < buffer.limit(); i++) {
+                byte b = buffer.get(i);
+                if (b == '\r' || (b == '\n' && previous != '\r')) {
+                    newlines++;
+                } else if (b == '[' && newlines >= 2) {
+                    return offset + i;
+                } else if (b != '\n' && b != ' ' && b != '\t') {
+                    newlines = 0;
+                }
+                previous = b;
+            }
+        }
+        return size;
+    }
+
+    private final class ChunkTask extends RecursiveAction {
+        private final FileChannel channel;
+        private final long[] bounds;
+        private final int first;
+        private final int last;
+        private final Output output;
+
+        /**
+         * Covers chunks first (inclusive) to last (exclusive)
+         */
+        ChunkTask(FileChannel channel, long[] bounds, int first, int last, Output output) {
+            this.channel = channel;
+            this.bounds = bounds;
+            this.first = first;
+            this.last = last;
+            this.output = output;
+        }
+
+        @Override
+        protected void compute() {
+            if (last - first > 1) {
+                int middle = (first + last) >>> 1;
+                invokeAll(new ChunkTask(channel, bounds, first, middle, output),
+                        new ChunkTask(channel, bounds, middle, last, output));
+                return;
+            }
+            if (last == first) {
+                return;
+            }
+            try {
+                output.chunk(first, replay(new RangeInputStream(channel, bounds[first], bounds[last])));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private List<ValidatedGame> replay(InputStream in) throws IOException {
+            List<ValidatedGame> games = new ArrayList<>();
+            PgnReader reader = new PgnReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            reader.forEach(game -> games.add(new ValidatedGame(game.number(), game.tags(), game.plies(),
+                    game.game().status(), game.result(), game.error())));
+            return games;
+        }
+    }
+
+    /**
+     * Reads one byte range of a file with positional reads, so several can be read
+     * from the same channel at once
+     */
+    private static final class RangeInputStream extends InputStream {
+        private final FileChannel channel;
+        private final long end;
+        private long position;
+
+        RangeInputStream(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (position >= end) {
+                return -1;
+            }
+            int wanted = (int) Math.min(length, end - position);
+            int read = channel.read(ByteBuffer.wrap(bytes, offset, wanted), position);
+            if (read == -1) {
+                return -1;
+            }
+            position += read;
+            return read;
+        }
+    }
+
+    private abstract static class Output {
+        final AtomicLong games = new AtomicLong();
+        final AtomicLong valid = new AtomicLong();
+        final AtomicLong plies = new AtomicLong();
+
+        abstract void chunk(int index, List<ValidatedGame> results);
+
+        void count(List<ValidatedGame> results) {
+            long validGames = 0;
+            long replayed = 0;
+            for (ValidatedGame game : results) {
+                validGames += game.isValid() ? 1 : 0;
+                replayed += game.plies();
+            }
+            valid.addAndGet(validGames);
+            plies.addAndGet(replayed);
+        }
+
+        static ValidatedGame renumber(ValidatedGame game, long number) {
+            return new ValidatedGame(number, game.tags(), game.plies(), game.status(), game.result(), game.error());
+        }
+    }
+
+    private static final class UnorderedOutput extends Output {
+        private final Consumer<ValidatedGame> sink;
+
+        UnorderedOutput(Consumer<ValidatedGame> sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        void chunk(int index, List<ValidatedGame> results) {
+            count(results);
+            long number = games.getAndAdd(results.size());
+            for (ValidatedGame game : results) {
+                sink.accept(renumber(game, ++number));
+            }
+        }
+    }
+
+    /**
+     * Holds finished chunks until every chunk before them has been emitted
+     */
+    private static final class OrderedOutput extends Output {
+        private final Consumer<ValidatedGame> sink;
+        private final Map<Integer, List<ValidatedGame>> waiting = new HashMap<>();
+        private int next;
+
+        OrderedOutput(Consumer<ValidatedGame> sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        synchronized void chunk(int index, List<ValidatedGame> results) {
+            count(results);
+            waiting.put(index, results);
+            for (List<ValidatedGame> ready = waiting.remove(next); ready != null; ready = waiting.remove(next)) {
+                for (ValidatedGame game : ready) {
+                    sink.accept(renumber(game, games.incrementAndGet()));
+                }
+                next++;
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: PgnBatch <file.pgn> [unordered]");
+            System.exit(2);
+        }
+        boolean ordered = args.length < 2 || !args[1].equals("unordered");
+        PgnBatch batch = new PgnBatch(ForkJoinPool.commonPool(), DEFAULT_CHUNK_BYTES);
+        Report report = batch.validate(Path.of(args[0]), ordered, game -> {
+        });
+        System.out.println(report);
+    }
+}
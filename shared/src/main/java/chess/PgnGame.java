@@ -0,0 +1,33 @@
+package chess;
+
+import java.util.Map;
+
+/**
+ * One game read from a PGN file
+ *
+ * @param number the position of the game in the file, starting at 1
+ * @param tags   the tag pairs in file order
+ * @param moves  the packed moves replayed, up to the first invalid one
+ * @param game   the game after the replayed moves
+ * @param result the game termination marker: 1-0, 0-1, 1/2-1/2 or *
+ * @param error  why the movetext could not be replayed, or null if every move was
+ *               legal
+ */
+public record PgnGame(long number, Map<String, String> tags, int[] moves, ChessGame game, String result,
+                      String error) {
+
+    public boolean isValid() {
+        return error == null;
+    }
+
+    public String tag(String name) {
+        return tags.get(name);
+    }
+
+    /**
+     * @return the number of half moves replayed
+     */
+    public int plies() {
+        return moves.length;
+    }
+}
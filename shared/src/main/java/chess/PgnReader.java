@@ -0,0 +1,284 @@
+package chess;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Reads games from Portable Game Notation one at a time, so files of any size
+ * can be processed in constant memory.
+ * <p>
+ * Tag pairs are collected and SAN movetext is replayed through a ChessGame as it
+ * is read. Comments, variations, NAGs and move numbers are skipped. A [FEN] tag
+ * sets the starting position. Games that use castling or en passant, which this
+ * game does not implement, are reported with an error rather than stopping the
+ * read.
+ */
+public final class PgnReader {
+
+    private static final String[] RESULTS = {"1-0", "0-1", "1/2-1/2", "*"};
+
+    private final Reader in;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+
+    private final StringBuilder token = new StringBuilder(64);
+    private final IntMoveList legalMoves = new IntMoveList();
+    private final IntMoveList played = new IntMoveList(256);
+    private long count;
+    private final LegalMoveCache moveCache;
+
+    public PgnReader(Reader in) {
+        this(in, ChessGame.moveCache());
+    }
+
+    /**
+     * @param moveCache the cache the games read should use after replay; replay
+     *                  itself never looks moves up
+     */
+    PgnReader(Reader in, LegalMoveCache moveCache) {
+        this.in = in;
+        this.moveCache = moveCache;
+    }
+
+    /**
+     * Reads every game in a file, decoding it as UTF-8
+     *
+     * @param path    the PGN file
+     * @param handler called with each game in file order
+     * @return the number of games read
+     * @throws IOException if the file cannot be read
+     */
+    public static long readAll(Path path, Consumer<PgnGame> handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+             Reader reader = Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder()
+                     .onMalformedInput(CodingErrorAction.REPLACE)
+                     .onUnmappableCharacter(CodingErrorAction.REPLACE), -1)) {
+            return new PgnReader(reader).forEach(handler);
+        }
+    }
+
+    /**
+     * Reads the remaining games
+     *
+     * @param handler called with each game in order
+     * @return the number of games read by this call
+     * @throws IOException if the input cannot be read
+     */
+    public long forEach(Consumer<PgnGame> handler) throws IOException {
+        long games = 0;
+        for (PgnGame game = next(); game != null; game = next()) {
+            handler.accept(game);
+            games++;
+        }
+        return games;
+    }
+
+    /**
+     * Reads the next game
+     *
+     * @return the game, or null at the end of the input
+     * @throws IOException if the input cannot be read
+     */
+    public PgnGame next() throws IOException {
+        int c = skipWhitespace();
+        if (c == -1) {
+            return null;
+        }
+
+        Map<String, String> tags = new LinkedHashMap<>();
+        while (c == '[') {
+            position++;
+            readTag(tags);
+            c = skipWhitespace();
+        }
+
+        ChessGame game = new ChessGame();
+        game.setMoveCache(moveCache);
+        String error = null;
+        String fen = tags.get("FEN");
+        if (fen != null) {
+            try {
+                game.loadFen(fen);
+            } catch (IllegalArgumentException e) {
+                error = "bad FEN tag";
+            }
+        }
+
+        played.clear();
+        String result = null;
+        while (result == null && c != -1 && c != '[') {
+            position++;
+            switch (c) {
+                case '{' -> skipPast('}');
+                case ';', '%' -> skipPast('\n');
+                case '(' -> skipVariation();
+                case '$' -> readToken(c);
+                case ')' -> {
+                }
+                default -> {
+                    readToken(c);
+                    result = result(token);
+                    if (result == null && error == null) {
+                        error = play(game);
+                    }
+                }
+            }
+            c = skipWhitespace();
+        }
+        if (result == null) {
+            result = tags.getOrDefault("Result", "*");
+        }
+        return new PgnGame(++count, tags, played.toArray(), game, result, error);
+    }
+
+    /**
+     * Plays the SAN move in the token buffer, after stripping any move number
+     *
+     * @return why the move could not be played, or null
+     */
+    private String play(ChessGame game) {
+        int start = 0;
+        while (start < token.length() && Character.isDigit(token.charAt(start))) {
+            start++;
+        }
+        if (start > 0) {
+            while (start < token.length() && token.charAt(start) == '.') {
+                start++;
+            }
+            token.delete(0, start);
+        }
+        if (token.isEmpty()) {
+            return null;
+        }
+
+        int ply = played.size() + 1;
+        if (San.isCastling(token)) {
+            return "castling is not supported, at ply " + ply;
+        }
+        Bitboard bits = game.bitboard();
+        legalMoves.clear();
+        MoveGenerator.generate(bits, Bitboard.color(game.getTeamTurn()), legalMoves);
+        int move = San.decode(token, bits, legalMoves);
+        if (move == Move.NONE) {
+            return "illegal move " + token + " at ply " + ply;
+        }
+        // The move came from the legal list, so skip makeMove's checks and the shared cache
+        game.makeLegalMove(move);
+        played.add(move);
+        return null;
+    }
+
+    private static String result(CharSequence token) {
+        for (String result : RESULTS) {
+            if (result.contentEquals(token)) {
+                return result;
+            }
+        }
+        return null;
+    }
+
+    private void readTag(Map<String, String> tags) throws IOException {
+        int c = skipWhitespace();
+        token.setLength(0);
+        while (c != -1 && c != '"' && c != ']' && !Character.isWhitespace(c)) {
+            token.append((char) c);
+            position++;
+            c = peek();
+        }
+        String name = token.toString();
+
+        c = skipWhitespace();
+        token.setLength(0);
+        if (c == '"') {
+            position++;
+            for (c = read(); c != -1 && c != '"'; c = read()) {
+                if (c == '\\') {
+                    c = read();
+                    if (c == -1) {
+                        break;
+                    }
+                }
+                token.append((char) c);
+            }
+        }
+        skipPast(']');
+        if (!name.isEmpty()) {
+            tags.put(name, token.toString());
+        }
+    }
+
+    /**
+     * Reads a token into the token buffer, starting with a character that has
+     * already been consumed
+     */
+    private void readToken(int first) throws IOException {
+        token.setLength(0);
+        token.append((char) first);
+        for (int c = peek(); c != -1 && !Character.isWhitespace(c) && "{}()[];$".indexOf(c) < 0; c = peek()) {
+            token.append((char) c);
+            position++;
+        }
+    }
+
+    private void skipVariation() throws IOException {
+        int depth = 1;
+        for (int c = read(); c != -1; c = read()) {
+            if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return;
+            } else if (c == '{') {
+                skipPast('}');
+            }
+        }
+    }
+
+    private void skipPast(char end) throws IOException {
+        for (int c = read(); c != -1 && c != end; c = read()) {
+            // Skip
+        }
+    }
+
+    /**
+     * @return the next character that is not whitespace, without consuming it,
+     * or -1 at the end of the input
+     */
+    private int skipWhitespace() throws IOException {
+        int c = peek();
+        while (c != -1 && Character.isWhitespace(c)) {
+            position++;
+            c = peek();
+        }
+        return c;
+    }
+
+    private int read() throws IOException {
+        int c = peek();
+        if (c != -1) {
+            position++;
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (position == limit) {
+            limit = in.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position];
+    }
+}
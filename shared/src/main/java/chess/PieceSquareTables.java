@@ -0,0 +1,155 @@
+package chess;
+
+/**
+ * Material and piece-square values for a tapered evaluation. Each piece on each
+ * square has a middlegame and an endgame value in centipawns, which include the
+ * piece's material. Values are from white's point of view, so black pieces score
+ * negatively.
+ * <p>
+ * The game phase is measured by the remaining minor and major pieces, from
+ * MAX_PHASE with every piece on the board down to 0 with only kings and pawns.
+ */
+public final class PieceSquareTables {
+
+    public static final int MAX_PHASE = 24;
+
+    private static final int[] PHASE = {0, 1, 1, 2, 4, 0};
+
+    private static final int[] MIDDLEGAME_VALUES = {82, 337, 365, 477, 1025, 0};
+    private static final int[] ENDGAME_VALUES = {94, 281, 297, 512, 936, 0};
+
+    // Tables are written as seen from white's side, row 8 first
+
+    private static final int[] PAWN = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            50, 50, 50, 50, 50, 50, 50, 50,
+            10, 10, 20, 30, 30, 20, 10, 10,
+            5, 5, 10, 25, 25, 10, 5, 5,
+            0, 0, 0, 20, 20, 0, 0, 0,
+            5, -5, -10, 0, 0, -10, -5, 5,
+            5, 10, 10, -20, -20, 10, 10, 5,
+            0, 0, 0, 0, 0, 0, 0, 0
+    };
+
+    private static final int[] PAWN_ENDGAME = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            80, 80, 80, 80, 80, 80, 80, 80,
+            50, 50, 50, 50, 50, 50, 50, 50,
+            30, 30, 30, 30, 30, 30, 30, 30,
+            15, 15, 15, 15, 15, 15, 15, 15,
+            5, 5, 5, 5, 5, 5, 5, 5,
+            0, 0, 0, 0, 0, 0, 0, 0,
+            0, 0, 0, 0, 0, 0, 0, 0
+    };
+
+    private static final int[] KNIGHT = {
+            -50, -40, -30, -30, -30, -30, -40, -50,
+            -40, -20, 0, 0, 0, 0, -20, -40,
+            -30, 0, 10, 15, 15, 10, 0, -30,
+            -30, 5, 15, 20, 20, 15, 5, -30,
+            -30, 0, 15, 20, 20, 15, 0, -30,
+            -30, 5, 10, 15, 15, 10, 5, -30,
+            -40, -20, 0, 5, 5, 0, -20, -40,
+            -50, -40, -30, -30, -30, -30, -40, -50
+    };
+
+    private static final int[] BISHOP = {
+            -20, -10, -10, -10, -10, -10, -10, -20,
+            -10, 0, 0, 0, 0, 0, 0, -10,
+            -10, 0, 5, 10, 10, 5, 0, -10,
+            -10, 5, 5, 10, 10, 5, 5, -10,
+            -10, 0, 10, 10, 10, 10, 0, -10,
+            -10, 10, 10, 10, 10, 10, 10, -10,
+            -10, 5, 0, 0, 0, 0, 5, -10,
+            -20, -10, -10, -10, -10, -10, -10, -20
+    };
+
+    private static final int[] ROOK = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            5, 10, 10, 10, 10, 10, 10, 5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            0, 0, 0, 5, 5, 0, 0, 0
+    };
+
+    private static final int[] QUEEN = {
+            -20, -10, -10, -5, -5, -10, -10, -20,
+            -10, 0, 0, 0, 0, 0, 0, -10,
+            -10, 0, 5, 5, 5, 5, 0, -10,
+            -5, 0, 5, 5, 5, 5, 0, -5,
+            0, 0, 5, 5, 5, 5, 0, -5,
+            -10, 5, 5, 5, 5, 5, 0, -10,
+            -10, 0, 5, 0, 0, 0, 0, -10,
+            -20, -10, -10, -5, -5, -10, -10, -20
+    };
+
+    private static final int[] KING = {
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -20, -30, -30, -40, -40, -30, -30, -20,
+            -10, -20, -20, -20, -20, -20, -20, -10,
+            20, 20, 0, 0, 0, 0, 20, 20,
+            20, 30, 10, 0, 0, 10, 30, 20
+    };
+
+    private static final int[] KING_ENDGAME = {
+            -50, -40, -30, -20, -20, -30, -40, -50,
+            -30, -20, -10, 0, 0, -10, -20, -30,
+            -30, -10, 20, 30, 30, 20, -10, -30,
+            -30, -10, 30, 40, 40, 30, -10, -30,
+            -30, -10, 30, 40, 40, 30, -10, -30,
+            -30, -10, 20, 30, 30, 20, -10, -30,
+            -30, -30, 0, 0, 0, 0, -30, -30,
+            -50, -30, -30, -30, -30, -30, -30, -50
+    };
+
+    private static final int[][] MIDDLEGAME_TABLES = {PAWN, KNIGHT, BISHOP, ROOK, QUEEN, KING};
+    private static final int[][] ENDGAME_TABLES = {PAWN_ENDGAME, KNIGHT, BISHOP, ROOK, QUEEN, KING_ENDGAME};
+
+    private static final int[][] MIDDLEGAME = new int[12][64];
+    private static final int[][] ENDGAME = new int[12][64];
+
+    static {
+        for (int type = Bitboard.PAWN; type <= Bitboard.KING; type++) {
+            for (int square = 0; square < 64; square++) {
+                // Tables list row 8 first, so white reads them flipped vertically
+                int whiteIndex = square ^ 56;
+                int white = Bitboard.piece(Bitboard.WHITE, type);
+                int black = Bitboard.piece(Bitboard.BLACK, type);
+                MIDDLEGAME[white][square] = MIDDLEGAME_VALUES[type] + MIDDLEGAME_TABLES[type][whiteIndex];
+                ENDGAME[white][square] = ENDGAME_VALUES[type] + ENDGAME_TABLES[type][whiteIndex];
+                MIDDLEGAME[black][square] = -(MIDDLEGAME_VALUES[type] + MIDDLEGAME_TABLES[type][square]);
+                ENDGAME[black][square] = -(ENDGAME_VALUES[type] + ENDGAME_TABLES[type][square]);
+            }
+        }
+    }
+
+    private PieceSquareTables() {
+    }
+
+    /**
+     * @return the middlegame value of a piece code on a square, from white's view
+     */
+    public static int middlegame(int piece, int square) {
+        return MIDDLEGAME[piece][square];
+    }
+
+    /**
+     * @return the endgame value of a piece code on a square, from white's view
+     */
+    public static int endgame(int piece, int square) {
+        return ENDGAME[piece][square];
+    }
+
+    /**
+     * @return how much a piece code counts towards the game phase
+     */
+    public static int phase(int piece) {
+        return PHASE[Bitboard.typeOf(piece)];
+    }
+}
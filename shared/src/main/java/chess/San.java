@@ -0,0 +1,195 @@
+package chess;
+
+/**
+ * Reads and writes standard algebraic notation (SAN), such as e4, Nbd7, exd5 or
+ * e8=Q+.
+ * <p>
+ * SAN only names a move in the context of a position, so moves are resolved
+ * against the position's legal move list. Castling and en passant are not part
+ * of this game, so castling moves never decode.
+ */
+public final class San {
+
+    private static final String LETTERS = "PNBRQK";
+
+    private San() {
+    }
+
+    /**
+     * Finds the legal move a SAN token names. Check, mate and annotation suffixes
+     * are ignored, and "=" before a promotion is optional.
+     *
+     * @param san        the token to decode
+     * @param bits       the position the move is made from
+     * @param legalMoves every legal move in the position
+     * @return the packed move, or Move.NONE if the token names no legal move or is
+     * ambiguous
+     */
+    public static int decode(CharSequence san, Bitboard bits, IntMoveList legalMoves) {
+        int end = san.length();
+        while (end > 0 && "+#!?".indexOf(san.charAt(end - 1)) >= 0) {
+            end--;
+        }
+        if (end < 2) {
+            return Move.NONE;
+        }
+
+        int start = 0;
+        int type = pieceType(san.charAt(0));
+        if (type == Bitboard.EMPTY) {
+            type = Bitboard.PAWN;
+        } else {
+            start = 1;
+        }
+
+        int promotion = Bitboard.EMPTY;
+        if (type == Bitboard.PAWN) {
+            promotion = pieceType(san.charAt(end - 1));
+            if (promotion != Bitboard.EMPTY) {
+                end--;
+                if (san.charAt(end - 1) == '=') {
+                    end--;
+                }
+            }
+        }
+        if (end - start < 2) {
+            return Move.NONE;
+        }
+
+        int toFile = san.charAt(end - 2) - 'a';
+        int toRank = san.charAt(end - 1) - '1';
+        if (toFile < 0 || toFile > 7 || toRank < 0 || toRank > 7) {
+            return Move.NONE;
+        }
+        int to = toRank * 8 + toFile;
+
+        int fromFile = -1;
+        int fromRank = -1;
+        for (int i = start; i < end - 2; i++) {
+            char c = san.charAt(i);
+            if (c >= 'a' && c <= 'h') {
+                fromFile = c - 'a';
+            } else if (c >= '1' && c <= '8') {
+                fromRank = c - '1';
+            } else if (c != 'x' && c != ':' && c != '-') {
+                return Move.NONE;
+            }
+        }
+
+        int found = Move.NONE;
+        for (int i = 0; i < legalMoves.size(); i++) {
+            int move = legalMoves.get(i);
+            int from = Move.from(move);
+            if (Move.to(move) != to || Move.promotion(move) != promotion
+                    || Bitboard.typeOf(bits.pieceAt(from)) != type
+                    || (fromFile >= 0 && (from & 7) != fromFile)
+                    || (fromRank >= 0 && (from >>> 3) != fromRank)) {
+                continue;
+            }
+            if (found != Move.NONE) {
+                return Move.NONE;
+            }
+            found = move;
+        }
+        return found;
+    }
+
+    /**
+     * Writes a legal move in SAN, with the least disambiguation needed among the
+     * legal moves and a + or # suffix for check or mate
+     *
+     * @param bits       the position the move is made from; it is restored before
+     *                   returning
+     * @param move       the packed move, which must be legal
+     * @param legalMoves every legal move in the position
+     * @param out        where to append the SAN
+     * @return out
+     */
+    public static StringBuilder append(Bitboard bits, int move, IntMoveList legalMoves, StringBuilder out) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int type = Bitboard.typeOf(bits.pieceAt(from));
+        boolean capture = bits.pieceAt(to) != Bitboard.EMPTY;
+
+        if (type == Bitboard.PAWN) {
+            if (capture) {
+                out.append((char) ('a' + (from & 7))).append('x');
+            }
+            appendSquare(out, to);
+            int promotion = Move.promotion(move);
+            if (promotion != Bitboard.EMPTY) {
+                out.append('=').append(LETTERS.charAt(promotion));
+            }
+        } else {
+            out.append(LETTERS.charAt(type));
+            boolean ambiguous = false;
+            boolean sameFile = false;
+            boolean sameRank = false;
+            for (int i = 0; i < legalMoves.size(); i++) {
+                int other = Move.from(legalMoves.get(i));
+                if (other != from && Move.to(legalMoves.get(i)) == to
+                        && Bitboard.typeOf(bits.pieceAt(other)) == type) {
+                    ambiguous = true;
+                    sameFile |= (other & 7) == (from & 7);
+                    sameRank |= (other >>> 3) == (from >>> 3);
+                }
+            }
+            if (ambiguous) {
+                if (!sameFile) {
+                    out.append((char) ('a' + (from & 7)));
+                } else if (!sameRank) {
+                    out.append((char) ('1' + (from >>> 3)));
+                } else {
+                    appendSquare(out, from);
+                }
+            }
+            if (capture) {
+                out.append('x');
+            }
+            appendSquare(out, to);
+        }
+
+        // The bitboard's side to move may not be tracked, so take it from the piece
+        int opponent = Bitboard.colorOf(bits.pieceAt(from)) ^ 1;
+        bits.makeMove(move);
+        if (bits.inCheck(opponent)) {
+            out.append(MoveGenerator.hasLegalMove(bits, opponent) ? '+' : '#');
+        }
+        bits.unmakeMove();
+        return out;
+    }
+
+    /**
+     * @return a legal move in SAN, see append
+     */
+    public static String encode(Bitboard bits, int move, IntMoveList legalMoves) {
+        return append(bits, move, legalMoves, new StringBuilder(8)).toString();
+    }
+
+    private static void appendSquare(StringBuilder out, int square) {
+        out.append((char) ('a' + (square & 7))).append((char) ('1' + (square >>> 3)));
+    }
+
+    /**
+     * @return True if the token is a castling move, O-O or O-O-O
+     */
+    public static boolean isCastling(CharSequence san) {
+        return san.length() >= 3 && (san.charAt(0) == 'O' || san.charAt(0) == '0')
+                && san.charAt(1) == '-' && san.charAt(2) == san.charAt(0);
+    }
+
+    /**
+     * @return the Bitboard type for a SAN piece letter, or Bitboard.EMPTY if the
+     * character is not one. Pawns have no letter.
+     */
+    static int pieceType(char c) {
+        return switch (c) {
+            case 'N' -> Bitboard.KNIGHT;
+            case 'B' -> Bitboard.BISHOP;
+            case 'R' -> Bitboard.ROOK;
+            case 'Q' -> Bitboard.QUEEN;
+            case 'K' -> Bitboard.KING;
+            default -> Bitboard.EMPTY;
+        };
+    }
+}
@@ -0,0 +1,22 @@
+package chess;
+
+import java.util.Map;
+
+/**
+ * The outcome of replaying one PGN game in a batch
+ *
+ * @param number the game's position in the file when output is ordered, otherwise
+ *               a unique number in order of completion
+ * @param tags   the game's tag pairs
+ * @param plies  the number of half moves that replayed legally
+ * @param status the state of the position the replay reached
+ * @param result the game termination marker from the movetext
+ * @param error  why the replay stopped early, or null if every move was legal
+ */
+public record ValidatedGame(long number, Map<String, String> tags, int plies, ChessGame.GameStatus status,
+                            String result, String error) {
+
+    public boolean isValid() {
+        return error == null;
+    }
+}
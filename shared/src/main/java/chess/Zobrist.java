@@ -0,0 +1,49 @@
+package chess;
+
+/**
+ * Random keys for Zobrist hashing. A position's key is the XOR of one key per
+ * piece on a square, plus SIDE when black is to move, so it can be updated
+ * incrementally as pieces are added, removed and moved.
+ * <p>
+ * Keys come from a fixed-seed generator so a position hashes the same in every
+ * process, which lets keys be stored and compared across the server and clients.
+ */
+public final class Zobrist {
+
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+
+    private static final long[][] PIECE_SQUARE = new long[12][64];
+
+    public static final long SIDE;
+
+    static {
+        long state = SEED;
+        for (int piece = 0; piece < 12; piece++) {
+            for (int square = 0; square < 64; square++) {
+                state += 0x9E3779B97F4A7C15L;
+                PIECE_SQUARE[piece][square] = mix(state);
+            }
+        }
+        state += 0x9E3779B97F4A7C15L;
+        SIDE = mix(state);
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * @return the key for a piece code standing on a square
+     */
+    public static long piece(int piece, int square) {
+        return PIECE_SQUARE[piece][square];
+    }
+
+    /**
+     * SplitMix64 finalizer
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,26 @@
+package chess.search;
+
+import chess.Bitboard;
+import chess.PieceSquareTables;
+
+/**
+ * Static evaluation of a position by material and piece placement, blended
+ * between middlegame and endgame values by how much material is left. The terms
+ * are maintained incrementally by the Bitboard as pieces move, so evaluating a
+ * position does not scan the board.
+ */
+public final class Evaluation {
+
+    private Evaluation() {
+    }
+
+    /**
+     * @return the score in centipawns from the view of the side to move
+     */
+    public static int evaluate(Bitboard bits) {
+        int phase = Math.min(bits.phase(), PieceSquareTables.MAX_PHASE);
+        int score = (bits.middlegameScore() * phase
+                + bits.endgameScore() * (PieceSquareTables.MAX_PHASE - phase)) / PieceSquareTables.MAX_PHASE;
+        return bits.sideToMove() == Bitboard.WHITE ? score : -score;
+    }
+}
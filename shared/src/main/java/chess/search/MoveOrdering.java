@@ -0,0 +1,161 @@
+package chess.search;
+
+import chess.Bitboard;
+import chess.IntMoveList;
+import chess.Move;
+import chess.StaticExchange;
+
+import java.util.Arrays;
+
+/**
+ * Orders moves so alpha-beta finds cutoffs early. Moves are tried in this order:
+ * the hash move, winning and even captures by most valuable victim then least
+ * valuable attacker, promotions, the two killer moves for the ply, the remaining
+ * quiet moves by history score, and finally captures that lose material.
+ * <p>
+ * All state is kept in primitive arrays that are allocated once and reused for
+ * every search by the owning Search. Moves are selected lazily, so a cutoff on the
+ * first move never pays for sorting the rest.
+ */
+public final class MoveOrdering {
+
+    private static final int HASH_MOVE = 1_000_000;
+    private static final int GOOD_CAPTURE = 500_000;
+    private static final int PROMOTION = 400_000;
+    private static final int FIRST_KILLER = 300_000;
+    private static final int SECOND_KILLER = 299_000;
+    private static final int BAD_CAPTURE = -500_000;
+
+    /**
+     * History scores are halved when any of them passes this, which keeps them
+     * below the killer scores and lets old results fade
+     */
+    private static final int HISTORY_LIMIT = 100_000;
+
+    private final int[] killers = new int[(Search.MAX_PLY + 1) * 2];
+    private final int[] history = new int[2 * 64 * 64];
+    private final int[][] scores = new int[Search.MAX_PLY + 1][256];
+
+    /**
+     * Prepares for a new search: killers are cleared and history is aged
+     */
+    public void newSearch() {
+        Arrays.fill(killers, Move.NONE);
+        for (int i = 0; i < history.length; i++) {
+            history[i] >>= 1;
+        }
+    }
+
+    /**
+     * Scores every move in a list. Call before picking moves with next.
+     *
+     * @param bits     the position the moves are made from
+     * @param moves    the moves to order
+     * @param ply      the distance from the root
+     * @param hashMove the transposition table move, or Move.NONE
+     */
+    public void score(Bitboard bits, IntMoveList moves, int ply, int hashMove) {
+        int[] plyScores = scores(ply, moves.size());
+        int color = bits.sideToMove();
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            int score;
+            if (hashMove != Move.NONE && Move.sameMove(move, hashMove)) {
+                score = HASH_MOVE;
+            } else if (Move.isCapture(move)) {
+                score = mvvLva(bits, move) + (StaticExchange.atLeast(bits, move, 0) ? GOOD_CAPTURE : BAD_CAPTURE);
+            } else if (Move.isPromotion(move)) {
+                score = PROMOTION + Move.promotion(move);
+            } else if (Move.sameMove(move, killers[ply * 2])) {
+                score = FIRST_KILLER;
+            } else if (Move.sameMove(move, killers[ply * 2 + 1])) {
+                score = SECOND_KILLER;
+            } else {
+                score = history[historyIndex(color, move)];
+            }
+            plyScores[i] = score;
+        }
+    }
+
+    /**
+     * Scores captures and promotions by MVV-LVA alone, for quiescence search where
+     * quiet moves are not searched
+     */
+    public void scoreCaptures(Bitboard bits, IntMoveList moves, int ply) {
+        int[] plyScores = scores(ply, moves.size());
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            plyScores[i] = (Move.isCapture(move) ? mvvLva(bits, move) : 0)
+                    + (Move.isPromotion(move) ? StaticExchange.value(Move.promotion(move)) : 0);
+        }
+    }
+
+    /**
+     * Moves the best scored move at or after an index to that index
+     *
+     * @param moves the list that was scored
+     * @param ply   the ply the list was scored for
+     * @param index the number of moves already picked
+     * @return the move now at index
+     */
+    public int next(IntMoveList moves, int ply, int index) {
+        int[] plyScores = scores[ply];
+        int best = index;
+        for (int i = index + 1; i < moves.size(); i++) {
+            if (plyScores[i] > plyScores[best]) {
+                best = i;
+            }
+        }
+        if (best != index) {
+            moves.swap(index, best);
+            int score = plyScores[index];
+            plyScores[index] = plyScores[best];
+            plyScores[best] = score;
+        }
+        return moves.get(index);
+    }
+
+    /**
+     * Records a move that caused a beta cutoff. Only quiet moves update the killers
+     * and history, since captures are already ordered well.
+     *
+     * @param color the team that made the move
+     * @param move  the move
+     * @param ply   the distance from the root
+     * @param depth the remaining depth of the search that cut off
+     */
+    public void cutoff(int color, int move, int ply, int depth) {
+        if (Move.isCapture(move) || Move.isPromotion(move)) {
+            return;
+        }
+        if (!Move.sameMove(move, killers[ply * 2])) {
+            killers[ply * 2 + 1] = killers[ply * 2];
+            killers[ply * 2] = move;
+        }
+
+        int index = historyIndex(color, move);
+        history[index] += depth * depth;
+        if (history[index] > HISTORY_LIMIT) {
+            for (int i = 0; i < history.length; i++) {
+                history[i] >>= 1;
+            }
+        }
+    }
+
+    private int[] scores(int ply, int size) {
+        if (scores[ply].length < size) {
+            scores[ply] = new int[size];
+        }
+        return scores[ply];
+    }
+
+    private static int mvvLva(Bitboard bits, int move) {
+        int victim = Bitboard.typeOf(bits.pieceAt(Move.to(move)));
+        int attacker = Bitboard.typeOf(bits.pieceAt(Move.from(move)));
+        return victim * 8 + (Bitboard.KING - attacker);
+    }
+
+    private static int historyIndex(int color, int move) {
+        return (color << 12) | (move & 0xFFF);
+    }
+}
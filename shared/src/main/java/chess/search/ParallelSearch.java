@@ -0,0 +1,152 @@
+package chess.search;
+
+import chess.Bitboard;
+import chess.ChessGame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Searches one position on several threads with Lazy SMP. Every thread runs its
+ * own Search of the same root and they cooperate only through a shared
+ * TranspositionTable. Helpers search to slightly different depths, so they fill
+ * the table with entries the main search has not reached yet. The result always
+ * comes from the main search, which runs on the calling thread.
+ * <p>
+ * An instance owns its helper threads and should be reused and then closed. It
+ * runs one search at a time.
+ */
+public final class ParallelSearch implements AutoCloseable {
+
+    private final TranspositionTable table;
+    private final Search main;
+    private final Search[] helpers;
+    private final ExecutorService executor;
+    private volatile List<Future<SearchResult>> helperFutures = List.of();
+
+    /**
+     * @param threads the total number of threads to search with, including the
+     *                calling thread
+     * @param table   the transposition table shared by every thread
+     */
+    public ParallelSearch(int threads, TranspositionTable table) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Need at least one thread");
+        }
+        this.table = table;
+        this.main = new Search(table);
+        this.helpers = new Search[threads - 1];
+        for (int i = 0; i < helpers.length; i++) {
+            helpers[i] = new Search(table);
+        }
+        this.executor = helpers.length == 0 ? null : Executors.newFixedThreadPool(helpers.length, runnable -> {
+            Thread thread = new Thread(runnable, "lazy-smp-helper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public int threads() {
+        return helpers.length + 1;
+    }
+
+    public TranspositionTable table() {
+        return table;
+    }
+
+    /**
+     * Searches for the best move of the team whose turn it is in a game
+     *
+     * @param game   the game to search; it is not modified
+     * @param limits when to stop
+     * @return the best move found by the main search
+     */
+    public SearchResult search(ChessGame game, SearchLimits limits) {
+        return search(game.copyBitboard(), limits);
+    }
+
+    /**
+     * Searches for the best move of the side to move. Helpers stop as soon as
+     * the main search finishes.
+     *
+     * @param position the position to search; it is modified during the search
+     *                 and restored afterwards
+     * @param limits   when the main search should stop
+     * @return the main search's result, with the node count of every thread
+     */
+    public SearchResult search(Bitboard position, SearchLimits limits) {
+        List<Future<SearchResult>> futures = new ArrayList<>(helpers.length);
+        for (int i = 0; i < helpers.length; i++) {
+            Search helper = helpers[i];
+            int offset = (i & 1) + 1;
+            SearchLimits helperLimits = new SearchLimits(Math.min(limits.depth() + offset, Search.MAX_PLY),
+                    limits.nodes(), limits.millis());
+            Bitboard copy = new Bitboard(position);
+            futures.add(executor.submit(() -> helper.run(copy, helperLimits, 1 + offset)));
+        }
+        helperFutures = List.copyOf(futures);
+
+        SearchResult result;
+        try {
+            result = main.run(position, limits, 1);
+        } finally {
+            for (Search helper : helpers) {
+                helper.stop();
+            }
+        }
+
+        long nodes = result.nodes();
+        for (Future<SearchResult> future : futures) {
+            nodes += join(future).nodes();
+        }
+
+        // Only now that every thread has finished can a stop request be cleared
+        // without losing one sent before or during this search
+        main.reset();
+        for (Search helper : helpers) {
+            helper.reset();
+        }
+        return new SearchResult(result.move(), result.score(), result.depth(), nodes, result.nanos());
+    }
+
+    private static SearchResult join(Future<SearchResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for search helper", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search helper failed", e.getCause());
+        }
+    }
+
+    /**
+     * Ends the running search as soon as possible. If no search is running, the
+     * next one to start ends straight away.
+     */
+    public void stop() {
+        main.stop();
+        for (Search helper : helpers) {
+            helper.stop();
+        }
+    }
+
+    /**
+     * @return the helper tasks of the current or last search
+     */
+    List<Future<SearchResult>> helperFutures() {
+        return helperFutures;
+    }
+
+    @Override
+    public void close() {
+        stop();
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package chess.search;
+
+import chess.Bitboard;
+import chess.ChessGame;
+import chess.IntMoveList;
+import chess.Move;
+import chess.MoveGenerator;
+import chess.StaticExchange;
+
+/**
+ * Finds the best move in a position with an iterative deepening negamax
+ * alpha-beta search, finishing each line with a quiescence search of captures.
+ * Moves are ordered by MoveOrdering, with the transposition table move first.
+ * <p>
+ * A Search works directly on a Bitboard with make/unmake and reuses its move
+ * lists between calls, so an instance should be reused for many searches. An
+ * instance is not thread-safe, but separate instances can run concurrently,
+ * sharing nothing but an optional TranspositionTable. Any thread may call stop()
+ * to end a running search early.
+ */
+public final class Search {
+
+    public static final int MAX_PLY = 64;
+    public static final int MATE = 32_000;
+    static final int INFINITY = MATE + 1;
+
+    /**
+     * Nodes between checks of the clock and the stop flag
+     */
+    private static final int CHECK_INTERVAL = 1024;
+
+    /**
+     * Size of the table a Search creates when none is given
+     */
+    static final int DEFAULT_TABLE_MEGABYTES = 16;
+
+    private final IntMoveList[] lists = new IntMoveList[MAX_PLY + 1];
+    private final TranspositionTable table;
+    private final MoveOrdering ordering = new MoveOrdering();
+
+    private Bitboard bits;
+    private long nodes;
+    private long nodeLimit;
+    private long startNanos;
+    private long timeLimit;
+    private boolean aborted;
+    private volatile boolean stopped;
+    private int rootBest;
+
+    public Search() {
+        this(new TranspositionTable(DEFAULT_TABLE_MEGABYTES));
+    }
+
+    /**
+     * @param table the transposition table to read and write, which may be shared
+     *              with other searches
+     */
+    public Search(TranspositionTable table) {
+        this.table = table;
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = new IntMoveList();
+        }
+    }
+
+    /**
+     * Searches for the best move of the team whose turn it is in a game
+     *
+     * @param game   the game to search; it is not modified
+     * @param limits when to stop
+     * @return the best move found
+     */
+    public SearchResult search(ChessGame game, SearchLimits limits) {
+        return search(game.copyBitboard(), limits);
+    }
+
+    /**
+     * Searches for the best move of the side to move
+     *
+     * @param position the position to search; it is modified during the search
+     *                 and restored afterwards
+     * @param limits   when to stop
+     * @return the best move found in the deepest finished iteration
+     */
+    public SearchResult search(Bitboard position, SearchLimits limits) {
+        try {
+            return run(position, limits, 1);
+        } finally {
+            reset();
+        }
+    }
+
+    /**
+     * Clears a stop request once the search it was meant for has ended. Clearing
+     * it at the start instead would lose a stop sent just before the search began.
+     */
+    void reset() {
+        stopped = false;
+    }
+
+    /**
+     * Runs the iterative deepening loop without clearing the stop flag, so a stop
+     * that is already pending ends it before the first iteration finishes
+     *
+     * @param startDepth the first iteration to search
+     */
+    SearchResult run(Bitboard position, SearchLimits limits, int startDepth) {
+        long start = System.nanoTime();
+        bits = position;
+        nodes = 0;
+        ordering.newSearch();
+        nodeLimit = limits.nodes();
+        startNanos = start;
+        timeLimit = limits.millis() >= Long.MAX_VALUE / 1_000_000 ? Long.MAX_VALUE : limits.millis() * 1_000_000;
+        aborted = stopped;
+
+        IntMoveList rootMoves = lists[0];
+        rootMoves.clear();
+        MoveGenerator.generate(bits, bits.sideToMove(), rootMoves);
+        if (rootMoves.isEmpty()) {
+            int score = bits.inCheck(bits.sideToMove()) ? -MATE : 0;
+            return new SearchResult(Move.NONE, score, 0, 0, System.nanoTime() - start);
+        }
+
+        int bestMove = rootMoves.get(0);
+        int bestScore = 0;
+        int finished = 0;
+        for (int depth = Math.min(startDepth, limits.depth()); depth <= limits.depth(); depth++) {
+            int score = searchRoot(depth, bestMove);
+            if (aborted) {
+                break;
+            }
+            bestMove = rootBest;
+            bestScore = score;
+            finished = depth;
+            table.store(bits.key(), bestMove, TranspositionTable.toTable(score, 0), depth, TranspositionTable.EXACT);
+            if (Math.abs(score) >= MATE - depth) {
+                break;
+            }
+        }
+        return new SearchResult(bestMove, bestScore, finished, nodes, System.nanoTime() - start);
+    }
+
+    /**
+     * Ends the running search as soon as possible. The result is taken from the
+     * last iteration that finished. If no search is running, the next one to
+     * start ends straight away.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    public TranspositionTable table() {
+        return table;
+    }
+
+    /**
+     * @return the number of nodes visited by the current or last search
+     */
+    public long nodes() {
+        return nodes;
+    }
+
+    private int searchRoot(int depth, int previousBest) {
+        IntMoveList moves = lists[0];
+        moveToFront(moves, previousBest);
+
+        int alpha = -INFINITY;
+        rootBest = moves.get(0);
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            bits.makeMove(move);
+            int score = -search(depth - 1, 1, -INFINITY, -alpha);
+            bits.unmakeMove();
+            if (aborted) {
+                return 0;
+            }
+            if (score > alpha) {
+                alpha = score;
+                rootBest = move;
+            }
+        }
+        return alpha;
+    }
+
+    private int search(int depth, int ply, int alpha, int beta) {
+        if (depth <= 0 || ply >= MAX_PLY) {
+            return quiescence(ply, alpha, beta);
+        }
+        if (shouldAbort()) {
+            return 0;
+        }
+
+        long key = bits.key();
+        long entry = table.probe(key);
+        int hashMove = Move.NONE;
+        if (entry != 0) {
+            hashMove = TranspositionTable.move(entry);
+            if (TranspositionTable.depth(entry) >= depth) {
+                int score = TranspositionTable.fromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER && score >= beta)
+                        || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        int color = bits.sideToMove();
+        IntMoveList moves = lists[ply];
+        moves.clear();
+        MoveGenerator.generate(bits, color, moves);
+        if (moves.isEmpty()) {
+            return bits.inCheck(color) ? -MATE + ply : 0;
+        }
+        ordering.score(bits, moves, ply, hashMove);
+
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestMove = Move.NONE;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = ordering.next(moves, ply, i);
+            bits.makeMove(move);
+            int score = -search(depth - 1, ply + 1, -beta, -alpha);
+            bits.unmakeMove();
+            if (aborted) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                bestMove = move;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        ordering.cutoff(color, move, ply, depth);
+                        break;
+                    }
+                }
+            }
+        }
+
+        int bound = best >= beta ? TranspositionTable.LOWER
+                : best > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER;
+        table.store(key, bestMove, TranspositionTable.toTable(best, ply), depth, bound);
+        return best;
+    }
+
+    private static void moveToFront(IntMoveList moves, int move) {
+        for (int i = 0; i < moves.size(); i++) {
+            if (Move.sameMove(moves.get(i), move)) {
+                moves.swap(0, i);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Searches captures and promotions until the position is quiet, so the static
+     * evaluation is never taken in the middle of an exchange. Captures that static
+     * exchange evaluation says lose material are skipped. When in check every
+     * evasion is searched instead, since standing pat is not an option.
+     */
+    private int quiescence(int ply, int alpha, int beta) {
+        if (shouldAbort()) {
+            return 0;
+        }
+
+        int color = bits.sideToMove();
+        boolean inCheck = bits.inCheck(color);
+        if (ply >= MAX_PLY) {
+            return Evaluation.evaluate(bits);
+        }
+
+        int best = -INFINITY;
+        if (!inCheck) {
+            best = Evaluation.evaluate(bits);
+            if (best >= beta) {
+                return best;
+            }
+            alpha = Math.max(alpha, best);
+        }
+
+        IntMoveList moves = lists[ply];
+        moves.clear();
+        MoveGenerator.generate(bits, color, moves);
+        if (inCheck && moves.isEmpty()) {
+            return -MATE + ply;
+        }
+        if (inCheck) {
+            ordering.score(bits, moves, ply, Move.NONE);
+        } else {
+            ordering.scoreCaptures(bits, moves, ply);
+        }
+
+        for (int i = 0; i < moves.size(); i++) {
+            int move = ordering.next(moves, ply, i);
+            if (!inCheck && !Move.isPromotion(move)
+                    && (!Move.isCapture(move) || !StaticExchange.atLeast(bits, move, 0))) {
+                // Quiet moves and captures that lose material are not worth searching here
+                continue;
+            }
+            bits.makeMove(move);
+            int score = -quiescence(ply + 1, -beta, -alpha);
+            bits.unmakeMove();
+            if (aborted) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Counts a node and checks the limits. The clock and the stop flag are only
+     * read every CHECK_INTERVAL nodes.
+     *
+     * @return True if the search should unwind
+     */
+    private boolean shouldAbort() {
+        if (++nodes >= nodeLimit) {
+            aborted = true;
+        } else if (nodes % CHECK_INTERVAL == 0) {
+            aborted |= stopped || System.nanoTime() - startNanos >= timeLimit;
+        }
+        return aborted;
+    }
+}
@@ -0,0 +1,50 @@
+package chess.search;
+
+/**
+ * How far a search may go. The search stops at whichever limit it reaches first;
+ * use Long.MAX_VALUE for no node or time limit.
+ *
+ * @param depth  the deepest iteration to search, in plies
+ * @param nodes  the number of nodes after which to stop
+ * @param millis the wall clock time after which to stop
+ */
+public record SearchLimits(int depth, long nodes, long millis) {
+
+    public SearchLimits {
+        if (depth < 1 || depth > Search.MAX_PLY) {
+            throw new IllegalArgumentException("Depth must be between 1 and " + Search.MAX_PLY);
+        }
+        if (nodes < 1 || millis < 0) {
+            throw new IllegalArgumentException("Node and time limits must be positive");
+        }
+    }
+
+    /**
+     * @return limits that only stop at the given depth
+     */
+    public static SearchLimits depth(int depth) {
+        return new SearchLimits(depth, Long.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * @return limits that search as deep as possible within the given time
+     */
+    public static SearchLimits millis(long millis) {
+        return new SearchLimits(Search.MAX_PLY, Long.MAX_VALUE, millis);
+    }
+
+    /**
+     * @return limits that search as deep as possible within the given node count
+     */
+    public static SearchLimits nodes(long nodes) {
+        return new SearchLimits(Search.MAX_PLY, nodes, Long.MAX_VALUE);
+    }
+
+    public SearchLimits withNodes(long nodes) {
+        return new SearchLimits(depth, nodes, millis);
+    }
+
+    public SearchLimits withMillis(long millis) {
+        return new SearchLimits(depth, nodes, millis);
+    }
+}
@@ -0,0 +1,37 @@
+package chess.search;
+
+import chess.ChessMove;
+import chess.Move;
+
+/**
+ * The outcome of a search
+ *
+ * @param move  the best move found, packed as in Move, or Move.NONE if the side to
+ *              move has no legal move
+ * @param score the score of the move in centipawns for the side to move
+ * @param depth the last iteration that finished
+ * @param nodes the number of nodes visited
+ * @param nanos the time taken
+ */
+public record SearchResult(int move, int score, int depth, long nodes, long nanos) {
+
+    /**
+     * @return the best move as a ChessMove, or null if there is none
+     */
+    public ChessMove chessMove() {
+        return move == Move.NONE ? null : Move.toChessMove(move);
+    }
+
+    /**
+     * @return True if the score is a forced mate for either side
+     */
+    public boolean isMate() {
+        return Math.abs(score) >= Search.MATE - Search.MAX_PLY;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("depth %d %s score %d nodes %d time %d ms", depth,
+                move == Move.NONE ? "none" : Move.toString(move), score, nodes, nanos / 1_000_000);
+    }
+}
@@ -0,0 +1,135 @@
+package chess.search;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size hash table of search results keyed by Zobrist key, shared by any
+ * number of concurrent searches without locks.
+ * <p>
+ * Each entry takes two longs in one array: the key XORed with the data, then the
+ * data. Writes are not atomic, so a reader may see the key of one write with the
+ * data of another. Such a torn entry fails the XOR check and is treated as a
+ * miss. No objects are allocated per entry.
+ * <p>
+ * Data is packed as the move in bits 0-16, the depth in bits 17-23, the bound in
+ * bits 24-25 and the score in bits 32-47.
+ */
+public final class TranspositionTable {
+
+    public static final int LOWER = 1;
+    public static final int UPPER = 2;
+    public static final int EXACT = 3;
+
+    private static final int BYTES_PER_ENTRY = 16;
+
+    private final long[] table;
+    private final int mask;
+
+    /**
+     * @param megabytes the memory to use, rounded down to a power-of-two entry count
+     */
+    public TranspositionTable(int megabytes) {
+        if (megabytes < 1 || megabytes > 16_384) {
+            throw new IllegalArgumentException("Size must be between 1 and 16384 MB");
+        }
+        long entries = Long.highestOneBit(megabytes * (1L << 20) / BYTES_PER_ENTRY);
+        entries = Math.min(entries, 1L << 29);
+        this.table = new long[(int) entries * 2];
+        this.mask = (int) entries - 1;
+    }
+
+    /**
+     * @return the number of entries the table holds
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Looks up a position
+     *
+     * @param key the Zobrist key of the position
+     * @return the packed data for the position, or 0 if it is not stored
+     */
+    public long probe(long key) {
+        int index = ((int) key & mask) << 1;
+        long data = table[index + 1];
+        return (table[index] ^ data) == key ? data : 0L;
+    }
+
+    /**
+     * Stores a search result, replacing the entry in its slot unless that entry is
+     * for the same position and was searched deeper
+     *
+     * @param key   the Zobrist key of the position
+     * @param move  the best move found, or Move.NONE
+     * @param score the score, already adjusted with toTable
+     * @param depth the remaining depth the score was searched to
+     * @param bound LOWER, UPPER or EXACT
+     */
+    public void store(long key, int move, int score, int depth, int bound) {
+        int index = ((int) key & mask) << 1;
+        long old = table[index + 1];
+        boolean sameKey = (table[index] ^ old) == key;
+        if (sameKey && depth < depth(old) && bound != EXACT) {
+            return;
+        }
+        if (sameKey && move == 0) {
+            move = move(old);
+        }
+
+        long data = (move & 0x1FFFFL)
+                | (long) Math.min(Math.max(depth, 0), 127) << 17
+                | (long) bound << 24
+                | (score & 0xFFFFL) << 32;
+        table[index] = key ^ data;
+        table[index + 1] = data;
+    }
+
+    public void clear() {
+        Arrays.fill(table, 0L);
+    }
+
+    public static int move(long data) {
+        return (int) (data & 0x1FFFF);
+    }
+
+    public static int depth(long data) {
+        return (int) (data >>> 17) & 0x7F;
+    }
+
+    public static int bound(long data) {
+        return (int) (data >>> 24) & 0x3;
+    }
+
+    public static int score(long data) {
+        return (short) (data >>> 32);
+    }
+
+    /**
+     * Converts a mate score from distance-to-root to distance-to-this-node, so the
+     * stored score is correct wherever the position is reached from
+     */
+    static int toTable(int score, int ply) {
+        if (score >= Search.MATE - Search.MAX_PLY) {
+            return score + ply;
+        }
+        if (score <= -Search.MATE + Search.MAX_PLY) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    /**
+     * Inverse of toTable
+     */
+    static int fromTable(int score, int ply) {
+        if (score >= Search.MATE - Search.MAX_PLY) {
+            return score - ply;
+        }
+        if (score <= -Search.MATE + Search.MAX_PLY) {
+            return score + ply;
+        }
+        return score;
+    }
+}
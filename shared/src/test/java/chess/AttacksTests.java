@@ -0,0 +1,49 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class AttacksTests {
+
+    private static final int[][] ROOK_DIRECTIONS = { {1, 0}, {0, 1}, {-1, 0}, {0, -1} };
+    private static final int[][] BISHOP_DIRECTIONS = { {1, 1}, {1, -1}, {-1, 1}, {-1, -1} };
+
+    @Test
+    public void magicLookupsMatchRayWalk() {
+        Random random = new Random(240);
+        for (int i = 0; i < 2000; i++) {
+            long occupied = random.nextLong() & random.nextLong();
+            for (int square = 0; square < 64; square++) {
+                Assertions.assertEquals(walk(square, occupied, ROOK_DIRECTIONS), Attacks.rook(square, occupied));
+                Assertions.assertEquals(walk(square, occupied, BISHOP_DIRECTIONS), Attacks.bishop(square, occupied));
+            }
+        }
+    }
+
+    @Test
+    public void emptyBoardSliderCoverage() {
+        Assertions.assertEquals(14, Long.bitCount(Attacks.rook(Bitboard.square(4, 4), 0L)));
+        Assertions.assertEquals(13, Long.bitCount(Attacks.bishop(Bitboard.square(4, 4), 0L)));
+        Assertions.assertEquals(7, Long.bitCount(Attacks.bishop(Bitboard.square(1, 1), 0L)));
+    }
+
+    private static long walk(int square, long occupied, int[][] directions) {
+        long attacks = 0L;
+        for (int[] dir : directions) {
+            int row = Bitboard.row(square) + dir[0];
+            int col = Bitboard.column(square) + dir[1];
+            while (row >= 1 && row <= 8 && col >= 1 && col <= 8) {
+                long bit = 1L << Bitboard.square(row, col);
+                attacks |= bit;
+                if ((occupied & bit) != 0) {
+                    break;
+                }
+                row += dir[0];
+                col += dir[1];
+            }
+        }
+        return attacks;
+    }
+}
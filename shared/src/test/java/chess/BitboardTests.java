@@ -0,0 +1,83 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class BitboardTests {
+
+    @Test
+    public void startingBoardOccupancy() {
+        ChessBoard board = new ChessBoard();
+        board.resetBoard();
+        Bitboard bits = board.bitboard();
+
+        Assertions.assertEquals(0x000000000000FFFFL, bits.occupancy(Bitboard.WHITE));
+        Assertions.assertEquals(0xFFFF000000000000L, bits.occupancy(Bitboard.BLACK));
+        Assertions.assertEquals(0x000000000000FF00L, bits.pieces(Bitboard.WHITE, Bitboard.PAWN));
+        Assertions.assertEquals(1L << Bitboard.square(8, 5), bits.pieces(Bitboard.BLACK, Bitboard.KING));
+    }
+
+    @Test
+    public void addPieceKeepsBitboardInSync() {
+        ChessBoard board = new ChessBoard();
+        Bitboard bits = board.bitboard();
+        ChessPosition position = new ChessPosition(4, 3);
+
+        board.addPiece(position, new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT));
+        Assertions.assertEquals(Bitboard.piece(Bitboard.BLACK, Bitboard.KNIGHT), bits.pieceAt(Bitboard.square(4, 3)));
+
+        board.addPiece(position, new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
+        Assertions.assertEquals(0L, bits.pieces(Bitboard.BLACK, Bitboard.KNIGHT));
+        Assertions.assertEquals(1L << Bitboard.square(4, 3), bits.occupancy(Bitboard.WHITE));
+
+        board.addPiece(position, null);
+        Assertions.assertEquals(0L, bits.occupied());
+        Assertions.assertEquals(Bitboard.EMPTY, bits.pieceAt(Bitboard.square(4, 3)));
+    }
+
+    @Test
+    public void copyHasIndependentBitboard() {
+        ChessBoard board = new ChessBoard();
+        board.resetBoard();
+        board.bitboard();
+        ChessBoard copy = board.copy();
+
+        copy.addPiece(new ChessPosition(2, 1), null);
+
+        Assertions.assertNotEquals(board.bitboard().occupied(), copy.bitboard().occupied());
+        Assertions.assertEquals(board, new ChessBoard(board));
+    }
+
+    @Test
+    public void attacksLookOutwardFromSquare() {
+        ChessBoard board = new ChessBoard();
+        board.addPiece(new ChessPosition(1, 5), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING));
+        board.addPiece(new ChessPosition(5, 5), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK));
+        board.addPiece(new ChessPosition(3, 5), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT));
+        board.addPiece(new ChessPosition(2, 2), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
+        Bitboard bits = board.bitboard();
+
+        Assertions.assertEquals(Bitboard.square(1, 5), bits.kingSquare(Bitboard.WHITE));
+        Assertions.assertFalse(bits.inCheck(Bitboard.WHITE));
+        Assertions.assertTrue(bits.isAttacked(Bitboard.square(1, 1), Bitboard.BLACK));
+        Assertions.assertTrue(bits.isAttacked(Bitboard.square(1, 3), Bitboard.BLACK));
+        Assertions.assertFalse(bits.isAttacked(Bitboard.square(3, 2), Bitboard.BLACK));
+
+        board.addPiece(new ChessPosition(3, 5), null);
+        Assertions.assertTrue(bits.inCheck(Bitboard.WHITE));
+        Assertions.assertEquals(Bitboard.EMPTY, bits.kingSquare(Bitboard.BLACK));
+        Assertions.assertFalse(bits.inCheck(Bitboard.BLACK));
+    }
+
+    @Test
+    public void piecesAndPositionsAreShared() {
+        Assertions.assertSame(ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.QUEEN),
+                ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.QUEEN));
+        Assertions.assertSame(ChessPosition.of(3, 6), Bitboard.position(Bitboard.square(3, 6)));
+        Assertions.assertEquals(new ChessPosition(9, 1), ChessPosition.of(9, 1));
+
+        ChessBoard board = new ChessBoard();
+        board.resetBoard();
+        Assertions.assertSame(board.getPiece(ChessPosition.of(1, 1)), board.copy().getPiece(ChessPosition.of(1, 1)));
+    }
+}
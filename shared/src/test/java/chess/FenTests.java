@@ -0,0 +1,93 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class FenTests {
+
+    @Test
+    public void startMatchesNewGame() {
+        ChessGame game = ChessGame.fromFen(Fen.START);
+
+        Assertions.assertEquals(new ChessGame(), game);
+        Assertions.assertEquals(Fen.START, new ChessGame().toFen());
+    }
+
+    @Test
+    public void referencePositionsRoundTrip() {
+        StringBuilder out = new StringBuilder();
+        for (Perft.Reference reference : Perft.REFERENCES) {
+            ChessGame game = ChessGame.fromFen(reference.fen());
+            out.setLength(0);
+            game.appendFen(out);
+
+            Assertions.assertEquals(reference.fen(), out.toString());
+            Assertions.assertEquals(game, ChessGame.fromFen(out));
+        }
+    }
+
+    @Test
+    public void countersRoundTripAndAdvance() throws InvalidMoveException {
+        ChessGame game = ChessGame.fromFen("8/8/3k4/8/8/3K4/8/R7 b - - 37 80");
+        Assertions.assertEquals("8/8/3k4/8/8/3K4/8/R7 b - - 37 80", game.toFen());
+        Assertions.assertEquals(80, game.getFullmoveNumber());
+
+        game.makeMove(new ChessMove(new ChessPosition(6, 4), new ChessPosition(6, 5), null));
+        Assertions.assertEquals("8/8/4k3/8/8/3K4/8/R7 w - - 38 81", game.toFen());
+        game.makeMove(new ChessMove(new ChessPosition(1, 1), new ChessPosition(2, 1), null));
+        Assertions.assertEquals("8/8/4k3/8/8/3K4/R7/8 b - - 39 81", game.toFen());
+    }
+
+    @Test
+    public void missingCountersDefault() {
+        ChessGame game = ChessGame.fromFen("8/8/3k4/8/8/3K4/8/R7 w");
+
+        Assertions.assertEquals(0, game.getHalfmoveClock());
+        Assertions.assertEquals(1, game.getFullmoveNumber());
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> ChessGame.fromFen("8/8/3k4/8/8/3K4/8/R7 w - - 0 x"));
+    }
+
+    @Test
+    public void sideToMoveMustBeOneLetter() {
+        for (String side : new String[]{"wxyz", "bw", "x", "W"}) {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                    () -> ChessGame.fromFen("8/8/3k4/8/8/3K4/8/R7 " + side + " - - 0 1"), side);
+        }
+        Assertions.assertEquals(ChessGame.TeamColor.BLACK,
+                ChessGame.fromFen("8/8/3k4/8/8/3K4/8/R7 b - - 0 1").getTeamTurn());
+    }
+
+    @Test
+    public void loadSetsTurnAndPieces() {
+        ChessGame game = ChessGame.fromFen("8/8/2k5/5q2/5n2/8/5K2/8 b - - 0 1");
+
+        Assertions.assertEquals(ChessGame.TeamColor.BLACK, game.getTeamTurn());
+        Assertions.assertEquals(ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.QUEEN),
+                game.getBoard().getPiece(new ChessPosition(5, 6)));
+        Assertions.assertNull(game.getBoard().getPiece(new ChessPosition(1, 1)));
+        Assertions.assertEquals(37, game.legalMoves().size());
+    }
+
+    @Test
+    public void boardEmitsPlacement() {
+        ChessBoard board = new ChessBoard();
+        board.resetBoard();
+
+        Assertions.assertEquals("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR",
+                board.appendFen(new StringBuilder()).toString());
+    }
+
+    @Test
+    public void badFenLeavesGameUnchanged() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        game.makeMove(new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null));
+        String before = game.toFen();
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> game.loadFen("rnbqkbnr/pppppppp/8/8/4X3/8/PPPP1PPP/RNBQKBNR b - - 0 1"));
+        Assertions.assertEquals(before, game.toFen());
+        Assertions.assertEquals(ChessGame.TeamColor.BLACK, game.getTeamTurn());
+        Assertions.assertEquals(20, game.legalMoves().size());
+    }
+}
@@ -0,0 +1,182 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import passoff.chess.TestUtilities;
+
+public class GameStatusTests {
+
+    @Test
+    public void startingPositionIsOngoing() {
+        Assertions.assertEquals(ChessGame.GameStatus.ONGOING, new ChessGame().status());
+    }
+
+    @Test
+    public void checkWithEscape() {
+        ChessGame game = new ChessGame();
+        game.setBoard(TestUtilities.loadBoard("""
+                | | | | |k| | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | |K| | |r|
+                """));
+
+        Assertions.assertEquals(ChessGame.GameStatus.CHECK, game.status());
+        Assertions.assertFalse(game.status().isOver());
+    }
+
+    @Test
+    public void foolsMateIsCheckmate() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        game.makeMove(new ChessMove(new ChessPosition(2, 6), new ChessPosition(3, 6), null));
+        game.makeMove(new ChessMove(new ChessPosition(7, 5), new ChessPosition(5, 5), null));
+        game.makeMove(new ChessMove(new ChessPosition(2, 7), new ChessPosition(4, 7), null));
+        game.makeMove(new ChessMove(new ChessPosition(8, 4), new ChessPosition(4, 8), null));
+
+        Assertions.assertEquals(ChessGame.GameStatus.CHECKMATE, game.status());
+        Assertions.assertTrue(game.isInCheckmate(ChessGame.TeamColor.WHITE));
+    }
+
+    @Test
+    public void blockedKingIsStalemate() {
+        ChessGame game = new ChessGame();
+        game.setBoard(TestUtilities.loadBoard("""
+                |k| | | | | | | |
+                | | |Q| | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | |K| | | |
+                """));
+        game.setTeamTurn(ChessGame.TeamColor.BLACK);
+
+        Assertions.assertEquals(ChessGame.GameStatus.STALEMATE, game.status());
+        Assertions.assertTrue(game.status().isOver());
+    }
+
+    @Test
+    public void hasAnyLegalMoveFindsLastResort() {
+        ChessGame game = new ChessGame();
+        game.setBoard(TestUtilities.loadBoard("""
+                |k| | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                |P| | | | |q| | |
+                | | | | | | | |K|
+                """));
+
+        Assertions.assertTrue(game.hasAnyLegalMove(ChessGame.TeamColor.WHITE));
+        Assertions.assertFalse(game.isInStalemate(ChessGame.TeamColor.WHITE));
+
+        game.setBoard(TestUtilities.loadBoard("""
+                |k| | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                |p| | | | | | | |
+                |P| | | | | | | |
+                | | | | | | | | |
+                | | | | | |q| | |
+                | | | | | | | |K|
+                """));
+
+        Assertions.assertFalse(game.hasAnyLegalMove(ChessGame.TeamColor.WHITE));
+        Assertions.assertTrue(game.isInStalemate(ChessGame.TeamColor.WHITE));
+    }
+
+    @Test
+    public void hasLegalMoveMatchesGenerator() {
+        for (Perft.Reference reference : Perft.REFERENCES) {
+            Bitboard bits = new Bitboard();
+            Fen.load(reference.fen(), bits);
+            IntMoveList moves = new IntMoveList();
+            MoveGenerator.generate(bits, bits.sideToMove(), moves);
+
+            for (int i = 0; i < moves.size(); i++) {
+                bits.makeMove(moves.get(i));
+                IntMoveList replies = new IntMoveList();
+                MoveGenerator.generate(bits, bits.sideToMove(), replies);
+                Assertions.assertEquals(!replies.isEmpty(), MoveGenerator.hasLegalMove(bits, bits.sideToMove()),
+                        reference.name() + " after " + Move.toString(moves.get(i)));
+                bits.unmakeMove();
+            }
+        }
+    }
+
+    private static void move(ChessGame game, String from, String to) throws InvalidMoveException {
+        game.makeMove(new ChessMove(new ChessPosition(from.charAt(1) - '0', from.charAt(0) - 'a' + 1),
+                new ChessPosition(to.charAt(1) - '0', to.charAt(0) - 'a' + 1), null));
+    }
+
+    private static void shuffleKnights(ChessGame game) throws InvalidMoveException {
+        move(game, "g1", "f3");
+        move(game, "g8", "f6");
+        move(game, "f3", "g1");
+        move(game, "f6", "g8");
+    }
+
+    @Test
+    public void threefoldRepetition() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        shuffleKnights(game);
+        Assertions.assertEquals(ChessGame.GameStatus.ONGOING, game.status());
+
+        shuffleKnights(game);
+        Assertions.assertTrue(game.isThreefoldRepetition());
+        Assertions.assertEquals(ChessGame.GameStatus.THREEFOLD_REPETITION, game.status());
+        Assertions.assertTrue(game.status().isOver());
+        Assertions.assertTrue(game.status().isDraw());
+        Assertions.assertEquals(8, game.getHalfmoveClock());
+    }
+
+    @Test
+    public void pawnMoveResetsHistory() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        shuffleKnights(game);
+        move(game, "e2", "e4");
+        move(game, "e7", "e5");
+        Assertions.assertEquals(0, game.getHalfmoveClock());
+
+        shuffleKnights(game);
+        Assertions.assertFalse(game.isThreefoldRepetition());
+        shuffleKnights(game);
+        Assertions.assertTrue(game.isThreefoldRepetition());
+    }
+
+    @Test
+    public void fiftyMoveRule() throws InvalidMoveException {
+        ChessGame game = ChessGame.fromFen("8/8/3k4/8/8/3K4/8/R7 w - - 98 80");
+        Assertions.assertEquals(98, game.getHalfmoveClock());
+
+        move(game, "a1", "a2");
+        Assertions.assertEquals(ChessGame.GameStatus.ONGOING, game.status());
+        move(game, "d6", "e6");
+        Assertions.assertEquals(ChessGame.GameStatus.FIFTY_MOVE_RULE, game.status());
+        Assertions.assertEquals("8/8/4k3/8/8/3K4/R7/8 w - - 100 81", game.toFen());
+    }
+
+    @Test
+    public void checkmateTakesPrecedenceOverFiftyMoves() throws InvalidMoveException {
+        ChessGame game = ChessGame.fromFen("k7/8/1K6/8/8/8/8/7R w - - 99 1");
+        move(game, "h1", "h8");
+
+        Assertions.assertEquals(100, game.getHalfmoveClock());
+        Assertions.assertEquals(ChessGame.GameStatus.CHECKMATE, game.status());
+    }
+
+    @Test
+    public void captureResetsClock() throws InvalidMoveException {
+        ChessGame game = ChessGame.fromFen("8/8/3k4/8/8/3K4/8/R6r w - - 40 1");
+        move(game, "a1", "h1");
+
+        Assertions.assertEquals(0, game.getHalfmoveClock());
+    }
+}
@@ -0,0 +1,129 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class LegalMoveCacheTests {
+
+    @Test
+    public void secondLookupIsHit() {
+        LegalMoveCache cache = new LegalMoveCache(16);
+        Bitboard bits = new Bitboard();
+        Fen.load(Fen.START, bits);
+
+        int[] first = cache.get(bits, Bitboard.WHITE);
+        int[] second = cache.get(bits, Bitboard.WHITE);
+
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(20, first.length);
+        Assertions.assertEquals(1, cache.hits());
+        Assertions.assertEquals(1, cache.misses());
+    }
+
+    @Test
+    public void colorIsPartOfKey() {
+        LegalMoveCache cache = new LegalMoveCache(16);
+        Bitboard bits = new Bitboard();
+        Fen.load("8/8/2k5/5q2/5n2/8/5K2/8 b - - 0 1", bits);
+
+        Assertions.assertEquals(37, cache.get(bits, Bitboard.BLACK).length);
+        Assertions.assertNotEquals(37, cache.get(bits, Bitboard.WHITE).length);
+        Assertions.assertEquals(0, cache.hits());
+    }
+
+    @Test
+    public void matchesGeneratorAfterReplacement() {
+        LegalMoveCache cache = new LegalMoveCache(1);
+        Assertions.assertEquals(1, cache.capacity());
+
+        for (Perft.Reference reference : Perft.REFERENCES) {
+            Bitboard bits = new Bitboard();
+            Fen.load(reference.fen(), bits);
+            int[] cached = cache.get(bits, bits.sideToMove());
+            Assertions.assertEquals(reference.counts()[0], cached.length, reference.name());
+        }
+        Assertions.assertEquals(0, cache.hits());
+    }
+
+    @Test
+    public void sharedAcrossThreads() throws Exception {
+        LegalMoveCache cache = new LegalMoveCache(64);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] futures = new Future<?>[8];
+            for (int t = 0; t < futures.length; t++) {
+                futures[t] = executor.submit(() -> {
+                    Bitboard bits = new Bitboard();
+                    for (int i = 0; i < 1000; i++) {
+                        Perft.Reference reference = Perft.REFERENCES.get(i % Perft.REFERENCES.size());
+                        Fen.load(reference.fen(), bits);
+                        Assertions.assertEquals(reference.counts()[0], cache.get(bits, bits.sideToMove()).length);
+                    }
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assertions.assertEquals(8000, cache.hits() + cache.misses());
+    }
+
+    @Test
+    public void gameServesRepeatedQueriesFromCache() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        ChessMove move = new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null);
+        game.validMoves(move.getStartPosition());
+
+        long hits = ChessGame.moveCache().hits();
+        game.makeMove(move);
+        Assertions.assertTrue(ChessGame.moveCache().hits() > hits);
+    }
+
+    @Test
+    public void gamesUseTheirOwnCache() throws InvalidMoveException {
+        LegalMoveCache cache = new LegalMoveCache(64);
+        ChessGame game = new ChessGame();
+        game.setMoveCache(cache);
+
+        Assertions.assertEquals(20, game.legalMoves().size());
+        game.makeMove(new ChessMove(new ChessPosition(1, 7), new ChessPosition(3, 6), null));
+        Assertions.assertEquals(1, cache.hits());
+        Assertions.assertEquals(1, cache.misses());
+    }
+
+    @Test
+    public void gamesCanBypassCache() throws InvalidMoveException {
+        LegalMoveCache cache = new LegalMoveCache(64);
+        ChessGame game = new ChessGame();
+        game.setMoveCache(cache);
+        game.setMoveCache(null);
+
+        Assertions.assertEquals(20, game.legalMoves().size());
+        game.makeMove(new ChessMove(new ChessPosition(1, 7), new ChessPosition(3, 6), null));
+        Assertions.assertEquals(2, game.validMoves(new ChessPosition(7, 1)).size());
+        Assertions.assertThrows(InvalidMoveException.class,
+                () -> game.makeMove(new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null)));
+        Assertions.assertEquals(0, cache.hits() + cache.misses());
+    }
+
+    @Test
+    public void pgnReplaySkipsCache() throws IOException {
+        LegalMoveCache cache = new LegalMoveCache(64);
+        PgnGame game = new PgnReader(new StringReader("1. e4 e5 2. Nf3 Nc6 3. Bb5 a6 *"), cache).next();
+
+        Assertions.assertTrue(game.isValid());
+        Assertions.assertEquals(6, game.plies());
+        Assertions.assertEquals(0, cache.hits() + cache.misses());
+
+        game.game().legalMoves();
+        Assertions.assertEquals(1, cache.misses());
+    }
+}
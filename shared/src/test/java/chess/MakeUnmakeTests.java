@@ -0,0 +1,55 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class MakeUnmakeTests {
+
+    @Test
+    public void captureIsRestored() {
+        ChessBoard board = new ChessBoard();
+        board.addPiece(new ChessPosition(4, 4), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
+        board.addPiece(new ChessPosition(4, 8), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.QUEEN));
+        ChessBoard before = board.copy();
+        long occupied = board.bitboard().occupied();
+
+        board.makeMove(new ChessMove(new ChessPosition(4, 4), new ChessPosition(4, 8), null));
+        Assertions.assertEquals(ChessPiece.PieceType.ROOK, board.getPiece(new ChessPosition(4, 8)).getPieceType());
+        Assertions.assertNull(board.getPiece(new ChessPosition(4, 4)));
+
+        board.unmakeMove();
+        Assertions.assertEquals(before, board);
+        Assertions.assertEquals(occupied, board.bitboard().occupied());
+    }
+
+    @Test
+    public void promotionIsReverted() {
+        ChessBoard board = new ChessBoard();
+        board.addPiece(new ChessPosition(7, 2), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
+        ChessBoard before = board.copy();
+
+        board.makeMove(new ChessMove(new ChessPosition(7, 2), new ChessPosition(8, 2), ChessPiece.PieceType.KNIGHT));
+        Assertions.assertEquals(new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT),
+                board.getPiece(new ChessPosition(8, 2)));
+
+        board.unmakeMove();
+        Assertions.assertEquals(before, board);
+        Assertions.assertEquals(0L, board.bitboard().pieces(Bitboard.WHITE, Bitboard.KNIGHT));
+    }
+
+    @Test
+    public void unmakeWithoutMoveThrows() {
+        ChessBoard board = new ChessBoard();
+        Assertions.assertThrows(IllegalStateException.class, board::unmakeMove);
+    }
+
+    @Test
+    public void gameMovesKeepNoUndoRecords() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        game.makeMove(new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null));
+        game.makeMove(new ChessMove(new ChessPosition(7, 5), new ChessPosition(5, 5), null));
+
+        Assertions.assertThrows(IllegalStateException.class, () -> game.bitboard().unmakeMove());
+        Assertions.assertThrows(IllegalStateException.class, () -> game.copyBitboard().unmakeMove());
+    }
+}
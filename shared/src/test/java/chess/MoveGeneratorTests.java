@@ -0,0 +1,56 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import passoff.chess.TestUtilities;
+
+import java.util.Collection;
+
+public class MoveGeneratorTests {
+
+    @Test
+    public void startingPositionHasTwentyMoves() {
+        Assertions.assertEquals(20, new ChessGame().legalMoves().size());
+    }
+
+    @Test
+    public void pinnedPieceMovesAlongPin() {
+        ChessGame game = new ChessGame();
+        game.setBoard(TestUtilities.loadBoard("""
+                | | | | |k| | | |
+                | | | | |r| | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | |R| | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | |K| | | |
+                """));
+
+        Collection<ChessMove> rookMoves = game.validMoves(new ChessPosition(4, 5));
+        Assertions.assertEquals(5, rookMoves.size());
+        for (ChessMove move : rookMoves) {
+            Assertions.assertEquals(5, move.getEndPosition().getColumn());
+        }
+    }
+
+    @Test
+    public void doubleCheckAllowsOnlyKingMoves() {
+        ChessGame game = new ChessGame();
+        game.setBoard(TestUtilities.loadBoard("""
+                | | | | |k| | | |
+                | | | | |r| | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | |n| | |
+                | | | | | | | |Q|
+                | | | | |K| | | |
+                """));
+
+        for (ChessMove move : game.legalMoves()) {
+            Assertions.assertEquals(new ChessPosition(1, 5), move.getStartPosition());
+        }
+        Assertions.assertTrue(game.validMoves(new ChessPosition(2, 8)).isEmpty());
+    }
+}
@@ -0,0 +1,97 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class MoveTests {
+
+    @Test
+    public void encodeRoundTrip() {
+        int move = Move.encode(Bitboard.square(7, 1), Bitboard.square(8, 2), Bitboard.KNIGHT, Move.CAPTURE);
+
+        Assertions.assertEquals(Bitboard.square(7, 1), Move.from(move));
+        Assertions.assertEquals(Bitboard.square(8, 2), Move.to(move));
+        Assertions.assertEquals(Bitboard.KNIGHT, Move.promotion(move));
+        Assertions.assertTrue(Move.isCapture(move));
+        Assertions.assertTrue(Move.isPromotion(move));
+        Assertions.assertEquals("a7b8n", Move.toString(move));
+    }
+
+    @Test
+    public void chessMoveConversion() {
+        ChessBoard board = new ChessBoard();
+        board.resetBoard();
+        ChessMove move = new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null);
+
+        int packed = Move.of(move, board.bitboard());
+        Assertions.assertEquals(Bitboard.EMPTY, Move.promotion(packed));
+        Assertions.assertFalse(Move.isCapture(packed));
+        Assertions.assertNotEquals(0, packed & Move.DOUBLE_PUSH);
+        Assertions.assertEquals(move, Move.toChessMove(packed));
+    }
+
+    @Test
+    public void listGrowsAndClears() {
+        IntMoveList list = new IntMoveList(1);
+        for (int i = 1; i <= 100; i++) {
+            list.add(Move.encode(0, i % 64, Bitboard.EMPTY, 0));
+        }
+        Assertions.assertEquals(100, list.size());
+        Assertions.assertTrue(list.contains(Move.encode(0, 5, Bitboard.EMPTY, Move.CAPTURE)));
+
+        list.clear();
+        Assertions.assertTrue(list.isEmpty());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+    }
+
+    @Test
+    public void offBoardMovesAreRejected() {
+        ChessGame game = new ChessGame();
+        ChessMove[] moves = {
+                new ChessMove(new ChessPosition(2, 5), new ChessPosition(3, 13), null),
+                new ChessMove(new ChessPosition(1, 7), new ChessPosition(2, 16), null),
+                new ChessMove(new ChessPosition(2, 5), new ChessPosition(9, 5), null),
+                new ChessMove(new ChessPosition(2, 5), new ChessPosition(0, 5), null),
+                new ChessMove(new ChessPosition(0, 5), new ChessPosition(2, 5), null)
+        };
+
+        for (ChessMove move : moves) {
+            Assertions.assertThrows(InvalidMoveException.class, () -> game.makeMove(move), move.toString());
+            Assertions.assertThrows(InvalidMoveException.class, () -> game.toSan(move), move.toString());
+        }
+        Assertions.assertEquals(new ChessGame(), game);
+    }
+
+    @Test
+    public void badPromotionsAreRejected() {
+        ChessGame game = new ChessGame();
+        ChessPosition e2 = new ChessPosition(2, 5);
+        ChessPosition e4 = new ChessPosition(4, 5);
+        ChessMove[] moves = {
+                new ChessMove(e2, e4, ChessPiece.PieceType.PAWN),
+                new ChessMove(e2, e4, ChessPiece.PieceType.KING),
+                new ChessMove(e2, e4, ChessPiece.PieceType.QUEEN),
+                new ChessMove(new ChessPosition(1, 7), new ChessPosition(3, 6), ChessPiece.PieceType.KNIGHT)
+        };
+
+        for (ChessMove move : moves) {
+            Assertions.assertFalse(game.validMoves(move.getStartPosition()).contains(move), move.toString());
+            Assertions.assertThrows(InvalidMoveException.class, () -> game.makeMove(move), move.toString());
+            Assertions.assertThrows(InvalidMoveException.class, () -> game.toSan(move), move.toString());
+        }
+        Assertions.assertEquals(new ChessGame(), game);
+    }
+
+    @Test
+    public void onlyRealPromotionsAreAccepted() throws InvalidMoveException {
+        ChessGame game = ChessGame.fromFen("8/P1k5/K7/8/8/8/8/8 w - - 0 1");
+        ChessPosition a7 = new ChessPosition(7, 1);
+        ChessPosition a8 = new ChessPosition(8, 1);
+
+        Assertions.assertThrows(InvalidMoveException.class,
+                () -> game.makeMove(new ChessMove(a7, a8, ChessPiece.PieceType.PAWN)));
+        Assertions.assertThrows(InvalidMoveException.class, () -> game.makeMove(new ChessMove(a7, a8, null)));
+        game.makeMove(new ChessMove(a7, a8, ChessPiece.PieceType.ROOK));
+        Assertions.assertEquals(ChessPiece.PieceType.ROOK, game.getBoard().getPiece(a8).getPieceType());
+    }
+}
@@ -0,0 +1,60 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+public class PerftTests {
+
+    @Test
+    public void referencePositions() {
+        for (Perft.Reference reference : Perft.REFERENCES) {
+            Bitboard bits = new Bitboard();
+            Fen.load(reference.fen(), bits);
+            long key = bits.key();
+            Perft perft = new Perft(bits, reference.counts().length);
+
+            for (int depth = 1; depth <= reference.counts().length; depth++) {
+                Assertions.assertEquals(reference.counts()[depth - 1], perft.count(depth),
+                        reference.name() + " at depth " + depth);
+            }
+            Assertions.assertEquals(key, bits.key(), reference.name() + " was not restored");
+        }
+    }
+
+    @Test
+    public void badFenIsRejected() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Perft.count("8/8/8/8 w - - 0 1", 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Perft.count("9/8/8/8/8/8/8/8 w", 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Perft.count("8/8/8/8/8/8/8/7x w", 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Perft.count(Fen.START.replace(" w ", " x "), 1));
+    }
+
+    @Test
+    public void divideMatchesSequentialCount() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (Perft.Reference reference : Perft.REFERENCES) {
+                Bitboard bits = new Bitboard();
+                Fen.load(reference.fen(), bits);
+                long key = bits.key();
+                int depth = Math.min(reference.counts().length, 4);
+
+                List<Perft.Division> divisions = Perft.divide(bits, depth, pool);
+                long total = 0;
+                for (Perft.Division division : divisions) {
+                    bits.makeMove(division.move());
+                    Assertions.assertEquals(new Perft(bits, depth).count(depth - 1), division.nodes());
+                    bits.unmakeMove();
+                    total += division.nodes();
+                }
+                Assertions.assertEquals(reference.counts()[depth - 1], total, reference.name());
+                Assertions.assertEquals(key, bits.key());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+public class PgnBatchTests {
+
+    private static final String GAMES = """
+            [Event "Fool's mate"]
+            [Result "0-1"]
+
+            1. f3 e5 2. g4 Qh4# 0-1
+
+            [Event "Open"]
+            [Result "*"]
+
+            1. e4 c5 2. Nf3 d6 {[not a tag]}
+            3. d4 cxd4 *
+
+            [Event "Castles"]
+            [Result "1-0"]
+
+            1. e4 e5 2. Nf3 Nc6 3. Bc4 Bc5 4. O-O Nf6 1-0
+
+            """;
+
+    private static final int COPIES = 50;
+
+    @TempDir
+    Path dir;
+
+    private Path write() throws IOException {
+        Path file = dir.resolve("games.pgn");
+        Files.writeString(file, GAMES.repeat(COPIES));
+        return file;
+    }
+
+    @Test
+    public void orderedOutputMatchesFile() throws IOException {
+        Path file = write();
+        List<ValidatedGame> games = new ArrayList<>();
+        PgnBatch batch = new PgnBatch(ForkJoinPool.commonPool(), 300);
+        PgnBatch.Report report = batch.validate(file, true, games::add);
+
+        Assertions.assertEquals(3 * COPIES, games.size());
+        Assertions.assertEquals(3 * COPIES, report.games());
+        Assertions.assertEquals(2 * COPIES, report.valid());
+        Assertions.assertEquals((4 + 6 + 6) * COPIES, report.plies());
+        Assertions.assertEquals(Files.size(file), report.bytes());
+
+        for (int i = 0; i < games.size(); i++) {
+            ValidatedGame game = games.get(i);
+            Assertions.assertEquals(i + 1, game.number());
+            switch (i % 3) {
+                case 0 -> {
+                    Assertions.assertTrue(game.isValid());
+                    Assertions.assertEquals(ChessGame.GameStatus.CHECKMATE, game.status());
+                    Assertions.assertEquals("0-1", game.result());
+                }
+                case 1 -> {
+                    Assertions.assertTrue(game.isValid());
+                    Assertions.assertEquals(ChessGame.GameStatus.ONGOING, game.status());
+                    Assertions.assertEquals("Open", game.tags().get("Event"));
+                }
+                default -> {
+                    Assertions.assertFalse(game.isValid());
+                    Assertions.assertEquals(6, game.plies());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void unorderedOutputSeesEveryGame() throws IOException {
+        Path file = write();
+        List<ValidatedGame> games = Collections.synchronizedList(new ArrayList<>());
+        PgnBatch batch = new PgnBatch(ForkJoinPool.commonPool(), 200);
+        PgnBatch.Report report = batch.validate(file, false, games::add);
+
+        Assertions.assertEquals(3 * COPIES, games.size());
+        Assertions.assertEquals(3 * COPIES, games.stream().mapToLong(ValidatedGame::number).distinct().count());
+        Assertions.assertEquals(COPIES, games.stream().filter(game -> !game.isValid()).count());
+        Assertions.assertEquals(2 * COPIES, report.valid());
+    }
+
+    @Test
+    public void chunksMatchSequentialRead() throws IOException {
+        Path file = write();
+        List<PgnGame> expected = new ArrayList<>();
+        PgnReader.readAll(file, expected::add);
+
+        for (int chunkBytes : new int[]{1, 64, 1 << 20}) {
+            List<ValidatedGame> games = new ArrayList<>();
+            new PgnBatch(ForkJoinPool.commonPool(), chunkBytes).validate(file, true, games::add);
+
+            Assertions.assertEquals(expected.size(), games.size());
+            for (int i = 0; i < games.size(); i++) {
+                Assertions.assertEquals(expected.get(i).tags(), games.get(i).tags());
+                Assertions.assertEquals(expected.get(i).plies(), games.get(i).plies());
+                Assertions.assertEquals(expected.get(i).error(), games.get(i).error());
+            }
+        }
+    }
+
+    @Test
+    public void emptyFile() throws IOException {
+        Path file = dir.resolve("empty.pgn");
+        Files.writeString(file, "");
+        PgnBatch.Report report = new PgnBatch(ForkJoinPool.commonPool(), 100).validate(file, true, game -> {
+        });
+
+        Assertions.assertEquals(0, report.games());
+    }
+
+    @Test
+    public void carriageReturnLinesAreSplit() throws IOException {
+        Path file = dir.resolve("cr.pgn");
+        Files.writeString(file, GAMES.replace("\n", "\r").repeat(COPIES));
+        PgnBatch batch = new PgnBatch(ForkJoinPool.commonPool(), 200);
+
+        try (FileChannel channel = FileChannel.open(file)) {
+            Assertions.assertTrue(batch.chunkBounds(channel).length > 10);
+        }
+        PgnBatch.Report report = batch.validate(file, true, game -> {
+        });
+        Assertions.assertEquals(3 * COPIES, report.games());
+        Assertions.assertEquals(2 * COPIES, report.valid());
+    }
+
+    @Test
+    public void fileWithoutBoundariesIsOneChunk() throws IOException {
+        Path file = dir.resolve("movetext.pgn");
+        Files.writeString(file, "1. e4 e5 2. Nf3 Nc6 *\n".repeat(COPIES));
+        PgnBatch batch = new PgnBatch(ForkJoinPool.commonPool(), 16);
+
+        try (FileChannel channel = FileChannel.open(file)) {
+            Assertions.assertArrayEquals(new long[]{0, Files.size(file)}, batch.chunkBounds(channel));
+        }
+        PgnBatch.Report report = batch.validate(file, true, game -> {
+        });
+        Assertions.assertEquals(COPIES, report.games());
+        Assertions.assertEquals(4L * COPIES, report.plies());
+    }
+}
@@ -0,0 +1,120 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PgnReaderTests {
+
+    private static final String PGN = """
+            [Event "Fool's mate"]
+            [White "A \\"quoted\\" name"]
+            [Black "B"]
+            [Result "0-1"]
+
+            1. f3 e5 2. g4?? {the blunder} Qh4# 0-1
+
+            [Event "With variations"]
+            [Result "*"]
+
+            1. e4 $1 (1. d4 d5 (1... Nf6) 2. c4) 1... c5 2. Nf3 d6; line comment
+            3. d4 cxd4 4. Nxd4 Nf6 5. Nc3 a6 *
+
+            [Event "Castles"]
+            [Result "1-0"]
+
+            1. e4 e5 2. Nf3 Nc6 3. Bc4 Bc5 4. O-O Nf6 5. d3 1-0
+
+            [Event "Promotion"]
+            [SetUp "1"]
+            [FEN "8/P1k5/K7/8/8/8/8/8 w - - 0 1"]
+            [Result "*"]
+
+            1. a8=N+ Kb8 *
+            """;
+
+    private static List<PgnGame> readAll(String pgn) throws IOException {
+        List<PgnGame> games = new ArrayList<>();
+        new PgnReader(new StringReader(pgn)).forEach(games::add);
+        return games;
+    }
+
+    @Test
+    public void readsEveryGame() throws IOException {
+        List<PgnGame> games = readAll(PGN);
+
+        Assertions.assertEquals(4, games.size());
+        Assertions.assertEquals(4, games.get(3).number());
+    }
+
+    @Test
+    public void tagsAndMovetext() throws IOException {
+        PgnGame mate = readAll(PGN).get(0);
+
+        Assertions.assertTrue(mate.isValid());
+        Assertions.assertEquals("A \"quoted\" name", mate.tag("White"));
+        Assertions.assertEquals("0-1", mate.result());
+        Assertions.assertEquals(4, mate.plies());
+        Assertions.assertTrue(mate.game().isInCheckmate(ChessGame.TeamColor.WHITE));
+    }
+
+    @Test
+    public void skipsVariationsCommentsAndNags() throws IOException {
+        PgnGame sicilian = readAll(PGN).get(1);
+
+        Assertions.assertTrue(sicilian.isValid(), sicilian.error());
+        Assertions.assertEquals(10, sicilian.plies());
+        Assertions.assertEquals("rnbqkb1r/1p2pppp/p2p1n2/8/3NP3/2N5/PPP2PPP/R1BQKB1R w - - 0 6",
+                sicilian.game().toFen());
+    }
+
+    @Test
+    public void castlingIsReportedNotFatal() throws IOException {
+        List<PgnGame> games = readAll(PGN);
+        PgnGame castles = games.get(2);
+
+        Assertions.assertFalse(castles.isValid());
+        Assertions.assertTrue(castles.error().contains("castling"));
+        Assertions.assertEquals(6, castles.plies());
+        Assertions.assertEquals("1-0", castles.result());
+        Assertions.assertTrue(games.get(3).isValid());
+    }
+
+    @Test
+    public void startsFromFenTag() throws IOException {
+        PgnGame promotion = readAll(PGN).get(3);
+
+        Assertions.assertTrue(promotion.isValid(), promotion.error());
+        Assertions.assertEquals("Nk6/8/K7/8/8/8/8/8 w - - 1 2", promotion.game().toFen());
+    }
+
+    @Test
+    public void illegalMoveStopsReplay() throws IOException {
+        PgnGame game = readAll("1. e4 e5 2. Ke3 Nc6 *").get(0);
+
+        Assertions.assertEquals("illegal move Ke3 at ply 3", game.error());
+        Assertions.assertEquals(2, game.plies());
+        Assertions.assertEquals("*", game.result());
+    }
+
+    @Test
+    public void readsFile() throws IOException {
+        Path file = Files.createTempFile("games", ".pgn");
+        try {
+            Files.writeString(file, PGN.repeat(50));
+            long[] valid = new long[1];
+            long count = PgnReader.readAll(file, game -> valid[0] += game.isValid() ? 1 : 0);
+
+            Assertions.assertEquals(200, count);
+            Assertions.assertEquals(150, valid[0]);
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SanTests {
+
+    private static String decode(String fen, String san) {
+        Bitboard bits = new Bitboard();
+        Fen.load(fen, bits);
+        IntMoveList moves = new IntMoveList();
+        MoveGenerator.generate(bits, bits.sideToMove(), moves);
+        int move = San.decode(san, bits, moves);
+        return move == Move.NONE ? null : Move.toString(move);
+    }
+
+    @Test
+    public void decodesPawnAndPieceMoves() {
+        Assertions.assertEquals("e2e4", decode(Fen.START, "e4"));
+        Assertions.assertEquals("g1f3", decode(Fen.START, "Nf3"));
+        Assertions.assertNull(decode(Fen.START, "e5"));
+        Assertions.assertNull(decode(Fen.START, "Nd2"));
+    }
+
+    @Test
+    public void decodesCapturesAndSuffixes() {
+        String fen = "rnbqkbnr/ppp1pppp/8/3p4/4P3/8/PPPP1PPP/RNBQKBNR w - - 0 2";
+
+        Assertions.assertEquals("e4d5", decode(fen, "exd5"));
+        Assertions.assertEquals("e4d5", decode(fen, "exd5!?"));
+        Assertions.assertEquals("f1b5", decode(fen, "Bb5+"));
+    }
+
+    @Test
+    public void disambiguation() {
+        String fen = "4k3/8/8/8/8/8/4K3/R6R w - - 0 1";
+
+        Assertions.assertNull(decode(fen, "Rd1"));
+        Assertions.assertEquals("a1d1", decode(fen, "Rad1"));
+        Assertions.assertEquals("h1f1", decode(fen, "Rhf1"));
+        Assertions.assertEquals("a1a2", decode(fen, "Ra2"));
+
+        String stacked = "4k3/8/8/8/7R/8/4K3/7R w - - 0 1";
+        Assertions.assertNull(decode(stacked, "Rh2"));
+        Assertions.assertEquals("h1h2", decode(stacked, "R1h2"));
+        Assertions.assertEquals("h4h2", decode(stacked, "Rh4h2"));
+    }
+
+    @Test
+    public void promotions() {
+        String fen = "8/P1k5/K7/8/8/8/8/8 w - - 0 1";
+
+        Assertions.assertEquals("a7a8q", decode(fen, "a8=Q"));
+        Assertions.assertEquals("a7a8n", decode(fen, "a8N+"));
+        Assertions.assertNull(decode(fen, "a8"));
+    }
+
+    @Test
+    public void castlingIsRecognised() {
+        Assertions.assertTrue(San.isCastling("O-O"));
+        Assertions.assertTrue(San.isCastling("0-0-0+"));
+        Assertions.assertFalse(San.isCastling("Ob3"));
+        Assertions.assertNull(decode(Fen.START, "O-O"));
+    }
+
+    private static String encode(String fen, String move) {
+        Bitboard bits = new Bitboard();
+        Fen.load(fen, bits);
+        IntMoveList moves = new IntMoveList();
+        MoveGenerator.generate(bits, bits.sideToMove(), moves);
+        for (int i = 0; i < moves.size(); i++) {
+            if (Move.toString(moves.get(i)).equals(move)) {
+                return San.encode(bits, moves.get(i), moves);
+            }
+        }
+        throw new AssertionError(move + " is not legal in " + fen);
+    }
+
+    @Test
+    public void encodesMoves() {
+        Assertions.assertEquals("e4", encode(Fen.START, "e2e4"));
+        Assertions.assertEquals("Nf3", encode(Fen.START, "g1f3"));
+        Assertions.assertEquals("exd5", encode("rnbqkbnr/ppp1pppp/8/3p4/4P3/8/PPPP1PPP/RNBQKBNR w - - 0 2", "e4d5"));
+        Assertions.assertEquals("Bb5+", encode("rnbqkbnr/ppp1pppp/8/3p4/4P3/8/PPPP1PPP/RNBQKBNR w - - 0 2", "f1b5"));
+        Assertions.assertEquals("Ra8#", encode("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1", "a1a8"));
+        Assertions.assertEquals("a8=N+", encode("8/P1k5/K7/8/8/8/8/8 w - - 0 1", "a7a8n"));
+    }
+
+    @Test
+    public void encodesDisambiguation() {
+        Assertions.assertEquals("Rad1", encode("4k3/8/8/8/8/8/4K3/R6R w - - 0 1", "a1d1"));
+        Assertions.assertEquals("R1h2", encode("4k3/8/8/8/7R/8/4K3/7R w - - 0 1", "h1h2"));
+        Assertions.assertEquals("Qh4e1", encode("K7/8/k7/8/4Q2Q/8/8/7Q w - - 0 1", "h4e1"));
+        // A pinned knight does not make the other knight's move ambiguous
+        Assertions.assertEquals("Nd2", encode("4k3/8/2b5/8/8/5N2/8/1N5K w - - 0 1", "b1d2"));
+    }
+
+    @Test
+    public void encodeThenDecodeEveryMove() {
+        for (Perft.Reference reference : Perft.REFERENCES) {
+            Bitboard bits = new Bitboard();
+            Fen.load(reference.fen(), bits);
+            IntMoveList moves = new IntMoveList();
+            MoveGenerator.generate(bits, bits.sideToMove(), moves);
+            StringBuilder out = new StringBuilder();
+            for (int i = 0; i < moves.size(); i++) {
+                out.setLength(0);
+                San.append(bits, moves.get(i), moves, out);
+                Assertions.assertEquals(moves.get(i), San.decode(out, bits, moves), out.toString());
+            }
+        }
+    }
+
+    @Test
+    public void gameWritesSanBeforeMoving() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        game.makeMove(new ChessMove(new ChessPosition(2, 6), new ChessPosition(3, 6), null));
+        game.makeMove(new ChessMove(new ChessPosition(7, 5), new ChessPosition(5, 5), null));
+        game.makeMove(new ChessMove(new ChessPosition(2, 7), new ChessPosition(4, 7), null));
+
+        ChessMove mate = new ChessMove(new ChessPosition(8, 4), new ChessPosition(4, 8), null);
+        Assertions.assertEquals("Qh4#", game.toSan(mate));
+        Assertions.assertThrows(InvalidMoveException.class,
+                () -> game.toSan(new ChessMove(new ChessPosition(8, 4), new ChessPosition(3, 4), null)));
+    }
+}
@@ -0,0 +1,70 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class StaticExchangeTests {
+
+    private static int see(String fen, String move) {
+        Bitboard bits = new Bitboard();
+        Fen.load(fen, bits);
+        IntMoveList moves = new IntMoveList();
+        MoveGenerator.generate(bits, bits.sideToMove(), moves);
+        for (int i = 0; i < moves.size(); i++) {
+            if (Move.toString(moves.get(i)).equals(move)) {
+                int value = StaticExchange.evaluate(bits, moves.get(i));
+                Assertions.assertTrue(StaticExchange.atLeast(bits, moves.get(i), value));
+                Assertions.assertFalse(StaticExchange.atLeast(bits, moves.get(i), value + 1));
+                return value;
+            }
+        }
+        throw new AssertionError(move + " is not legal in " + fen);
+    }
+
+    @Test
+    public void undefendedCapture() {
+        Assertions.assertEquals(500, see("4k3/8/8/4r3/8/8/8/4R1K1 w - - 0 1", "e1e5"));
+    }
+
+    @Test
+    public void pawnTakesDefendedKnight() {
+        Assertions.assertEquals(220, see("4k3/8/3p4/4n3/3P4/8/8/4K3 w - - 0 1", "d4e5"));
+    }
+
+    @Test
+    public void queenTakesDefendedPawn() {
+        Assertions.assertEquals(-800, see("4k3/8/3p4/4p3/8/8/8/4Q1K1 w - - 0 1", "e1e5"));
+    }
+
+    @Test
+    public void xrayAttackerJoins() {
+        Assertions.assertEquals(500, see("4r1k1/4r3/8/8/8/8/4R3/4R1K1 w - - 0 1", "e2e7"));
+    }
+
+    @Test
+    public void kingCannotRecaptureDefendedPiece() {
+        Assertions.assertEquals(0, see("n7/P7/4n3/4k3/b4N2/3K4/3R3p/8 b - - 0 1", "e6d4"));
+    }
+
+    @Test
+    public void quietMoveOntoAttackedSquare() {
+        Assertions.assertEquals(-170, see("rnbqkbnr/pppp1ppp/8/4p3/P7/8/1PPPPPPP/RNBQKBNR w - - 0 1", "a1a3"));
+    }
+
+    @Test
+    public void thresholdMatchesExactValue() {
+        for (Perft.Reference reference : Perft.REFERENCES) {
+            Bitboard bits = new Bitboard();
+            Fen.load(reference.fen(), bits);
+            IntMoveList moves = new IntMoveList();
+            MoveGenerator.generate(bits, bits.sideToMove(), moves);
+            for (int i = 0; i < moves.size(); i++) {
+                int value = StaticExchange.evaluate(bits, moves.get(i));
+                for (int threshold = -1000; threshold <= 1000; threshold += 10) {
+                    Assertions.assertEquals(value >= threshold, StaticExchange.atLeast(bits, moves.get(i), threshold),
+                            reference.name() + " " + Move.toString(moves.get(i)) + " at " + threshold);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ZobristTests {
+
+    @Test
+    public void transpositionsShareKey() throws InvalidMoveException {
+        ChessGame first = new ChessGame();
+        first.makeMove(move(1, 2, 3, 3));
+        first.makeMove(move(8, 2, 6, 3));
+        first.makeMove(move(1, 7, 3, 6));
+
+        ChessGame second = new ChessGame();
+        second.makeMove(move(1, 7, 3, 6));
+        second.makeMove(move(8, 2, 6, 3));
+        second.makeMove(move(1, 2, 3, 3));
+
+        Assertions.assertEquals(first.getZobristKey(), second.getZobristKey());
+        Assertions.assertEquals(first, second);
+        Assertions.assertEquals(first.hashCode(), second.hashCode());
+    }
+
+    @Test
+    public void sideToMoveChangesKey() {
+        ChessGame game = new ChessGame();
+        long whiteKey = game.getZobristKey();
+        game.setTeamTurn(ChessGame.TeamColor.BLACK);
+
+        Assertions.assertEquals(whiteKey ^ Zobrist.SIDE, game.getZobristKey());
+        Assertions.assertEquals(whiteKey, game.getBoard().getZobristKey());
+    }
+
+    @Test
+    public void incrementalKeyMatchesRebuiltKey() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        game.makeMove(move(2, 5, 4, 5));
+        game.makeMove(move(7, 4, 5, 4));
+        game.makeMove(move(4, 5, 5, 4));
+
+        ChessBoard rebuilt = new ChessBoard();
+        ChessBoard played = game.getBoard();
+        for (int row = 1; row <= 8; row++) {
+            for (int col = 1; col <= 8; col++) {
+                rebuilt.addPiece(ChessPosition.of(row, col), played.getPiece(ChessPosition.of(row, col)));
+            }
+        }
+        Assertions.assertEquals(rebuilt.getZobristKey(), played.getZobristKey());
+
+        Bitboard bits = new Bitboard(played.bitboard());
+        long before = bits.key();
+        bits.makeMove(Bitboard.square(1, 4), Bitboard.square(5, 4), Bitboard.EMPTY);
+        Assertions.assertNotEquals(before, bits.key());
+        bits.unmakeMove();
+        Assertions.assertEquals(before, bits.key());
+    }
+
+    private static ChessMove move(int fromRow, int fromCol, int toRow, int toCol) {
+        return new ChessMove(ChessPosition.of(fromRow, fromCol), ChessPosition.of(toRow, toCol), null);
+    }
+}
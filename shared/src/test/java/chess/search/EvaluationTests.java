@@ -0,0 +1,88 @@
+package chess.search;
+
+import chess.Bitboard;
+import chess.Fen;
+import chess.IntMoveList;
+import chess.MoveGenerator;
+import chess.PieceSquareTables;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class EvaluationTests {
+
+    private static Bitboard load(String fen) {
+        Bitboard bits = new Bitboard();
+        Fen.load(fen, bits);
+        return bits;
+    }
+
+    private static Bitboard rebuild(Bitboard bits) {
+        Bitboard fresh = new Bitboard();
+        for (int square = 0; square < 64; square++) {
+            fresh.put(square, bits.pieceAt(square));
+        }
+        fresh.setSideToMove(bits.sideToMove());
+        return fresh;
+    }
+
+    @Test
+    public void startingPositionIsBalanced() {
+        Bitboard bits = load(Fen.START);
+
+        Assertions.assertEquals(0, Evaluation.evaluate(bits));
+        Assertions.assertEquals(PieceSquareTables.MAX_PHASE, bits.phase());
+    }
+
+    @Test
+    public void mirroredPositionsScoreTheSame() {
+        Bitboard white = load("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10");
+        Bitboard copy = new Bitboard(white);
+        Bitboard mirrored = new Bitboard();
+        for (int square = 0; square < 64; square++) {
+            int piece = white.pieceAt(square);
+            if (piece != Bitboard.EMPTY) {
+                mirrored.put(square ^ 56, Bitboard.piece(Bitboard.colorOf(piece) ^ 1, Bitboard.typeOf(piece)));
+            }
+        }
+        mirrored.setSideToMove(Bitboard.BLACK);
+
+        Assertions.assertEquals(Evaluation.evaluate(copy), Evaluation.evaluate(mirrored));
+        Assertions.assertEquals(-white.middlegameScore(), mirrored.middlegameScore());
+    }
+
+    @Test
+    public void extraMaterialWins() {
+        Assertions.assertTrue(Evaluation.evaluate(load("4k3/8/8/8/8/8/8/3QK3 w - - 0 1")) > 800);
+        Assertions.assertTrue(Evaluation.evaluate(load("4k3/8/8/8/8/8/8/3QK3 b - - 0 1")) < -800);
+    }
+
+    @Test
+    public void incrementalTermsMatchRebuild() {
+        Random random = new Random(18);
+        Bitboard bits = load("n1n5/PPPk4/8/8/8/8/4Kppp/5N1N b - - 0 1");
+        IntMoveList moves = new IntMoveList();
+
+        for (int game = 0; game < 50; game++) {
+            int played = 0;
+            for (; played < 40; played++) {
+                moves.clear();
+                MoveGenerator.generate(bits, bits.sideToMove(), moves);
+                if (moves.isEmpty()) {
+                    break;
+                }
+                bits.makeMove(moves.get(random.nextInt(moves.size())));
+
+                Bitboard fresh = rebuild(bits);
+                Assertions.assertEquals(fresh.middlegameScore(), bits.middlegameScore());
+                Assertions.assertEquals(fresh.endgameScore(), bits.endgameScore());
+                Assertions.assertEquals(fresh.phase(), bits.phase());
+            }
+            for (; played > 0; played--) {
+                bits.unmakeMove();
+            }
+        }
+        Assertions.assertEquals(rebuild(bits).middlegameScore(), bits.middlegameScore());
+    }
+}
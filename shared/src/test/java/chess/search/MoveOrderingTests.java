@@ -0,0 +1,98 @@
+package chess.search;
+
+import chess.Bitboard;
+import chess.Fen;
+import chess.IntMoveList;
+import chess.Move;
+import chess.MoveGenerator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class MoveOrderingTests {
+
+    // White can take a free rook, a pawn defended by a pawn with the queen, or play quiet moves
+    private static final String FEN = "4k3/8/3p4/4p3/8/1r6/8/1R2Q1K1 w - - 0 1";
+
+    private static Bitboard bits;
+
+    private static IntMoveList generate() {
+        bits = new Bitboard();
+        Fen.load(FEN, bits);
+        IntMoveList moves = new IntMoveList();
+        MoveGenerator.generate(bits, bits.sideToMove(), moves);
+        return moves;
+    }
+
+    private static int find(IntMoveList moves, String move) {
+        for (int i = 0; i < moves.size(); i++) {
+            if (Move.toString(moves.get(i)).equals(move)) {
+                return moves.get(i);
+            }
+        }
+        throw new AssertionError(move + " not generated");
+    }
+
+    private static String[] order(MoveOrdering ordering, IntMoveList moves, int hashMove) {
+        ordering.score(bits, moves, 3, hashMove);
+        String[] order = new String[moves.size()];
+        for (int i = 0; i < moves.size(); i++) {
+            order[i] = Move.toString(ordering.next(moves, 3, i));
+        }
+        return order;
+    }
+
+    @Test
+    public void capturesByExchangeThenQuiet() {
+        MoveOrdering ordering = new MoveOrdering();
+        ordering.newSearch();
+        IntMoveList moves = generate();
+
+        String[] order = order(ordering, moves, Move.NONE);
+
+        Assertions.assertEquals("b1b3", order[0]);
+        Assertions.assertEquals("e1e5", order[order.length - 1]);
+    }
+
+    @Test
+    public void hashMoveFirstThenKillers() {
+        MoveOrdering ordering = new MoveOrdering();
+        ordering.newSearch();
+        IntMoveList moves = generate();
+        ordering.cutoff(Bitboard.WHITE, find(moves, "g1h2"), 3, 4);
+        ordering.cutoff(Bitboard.WHITE, find(moves, "e1e2"), 3, 4);
+
+        String[] order = order(ordering, moves, find(moves, "g1f2"));
+
+        Assertions.assertEquals("g1f2", order[0]);
+        Assertions.assertEquals("b1b3", order[1]);
+        Assertions.assertEquals("e1e2", order[2]);
+        Assertions.assertEquals("g1h2", order[3]);
+    }
+
+    @Test
+    public void historyOrdersQuietMoves() {
+        MoveOrdering ordering = new MoveOrdering();
+        ordering.newSearch();
+        IntMoveList moves = generate();
+        // Cutoffs at another ply leave no killers at ply 3
+        ordering.cutoff(Bitboard.WHITE, find(moves, "e1a5"), 7, 6);
+        ordering.cutoff(Bitboard.WHITE, find(moves, "e1h4"), 7, 2);
+
+        String[] order = order(ordering, moves, Move.NONE);
+
+        Assertions.assertEquals("e1a5", order[1]);
+        Assertions.assertEquals("e1h4", order[2]);
+    }
+
+    @Test
+    public void capturesDoNotBecomeKillers() {
+        MoveOrdering ordering = new MoveOrdering();
+        ordering.newSearch();
+        IntMoveList moves = generate();
+        ordering.cutoff(Bitboard.WHITE, find(moves, "e1e5"), 3, 8);
+
+        String[] order = order(ordering, moves, Move.NONE);
+
+        Assertions.assertEquals("e1e5", order[order.length - 1]);
+    }
+}
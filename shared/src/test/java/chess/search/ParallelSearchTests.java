@@ -0,0 +1,102 @@
+package chess.search;
+
+import chess.Bitboard;
+import chess.Fen;
+import chess.Move;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class ParallelSearchTests {
+
+    private static Bitboard load(String fen) {
+        Bitboard bits = new Bitboard();
+        Fen.load(fen, bits);
+        return bits;
+    }
+
+    @Test
+    public void findsMateOnFourThreads() {
+        try (ParallelSearch search = new ParallelSearch(4, new TranspositionTable(4))) {
+            SearchResult result = search.search(load("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1"), SearchLimits.depth(4));
+
+            Assertions.assertEquals("a1a8", Move.toString(result.move()));
+            Assertions.assertEquals(Search.MATE - 1, result.score());
+        }
+    }
+
+    @Test
+    public void agreesWithSingleThread() {
+        // Helpers fill the table from deeper searches, which can shift an ordinary
+        // score, so compare results every depth must agree on: a forced mate and
+        // winning a loose queen
+        String mate = "k7/8/2K5/8/8/8/8/7R w - - 0 1";
+        for (String fen : new String[]{mate, "4k3/8/8/3q4/8/8/3R4/4K3 w - - 0 1"}) {
+            Bitboard bits = load(fen);
+            SearchResult single = new Search().search(new Bitboard(bits), SearchLimits.depth(4));
+
+            try (ParallelSearch search = new ParallelSearch(4, new TranspositionTable(1))) {
+                SearchResult parallel = search.search(bits, SearchLimits.depth(4));
+                Assertions.assertEquals(Move.toString(single.move()), Move.toString(parallel.move()), fen);
+                if (fen.equals(mate)) {
+                    Assertions.assertEquals(Search.MATE - 3, single.score());
+                    Assertions.assertEquals(single.score(), parallel.score());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void reusableAndRestoresPosition() {
+        Bitboard bits = load("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10");
+        long key = bits.key();
+
+        try (ParallelSearch search = new ParallelSearch(3, new TranspositionTable(4))) {
+            for (int i = 0; i < 3; i++) {
+                SearchResult result = search.search(bits, SearchLimits.depth(2));
+                Assertions.assertNotEquals(Move.NONE, result.move());
+                Assertions.assertEquals(key, bits.key());
+            }
+        }
+    }
+
+    @Test
+    public void stopEndsEveryThread() throws Exception {
+        try (ParallelSearch search = new ParallelSearch(4, new TranspositionTable(4))) {
+            CompletableFuture<SearchResult> future = CompletableFuture.supplyAsync(
+                    () -> search.search(load(Fen.START), SearchLimits.depth(Search.MAX_PLY)));
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (search.helperFutures().size() < 3 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            List<Future<SearchResult>> helpers = search.helperFutures();
+            Assertions.assertEquals(3, helpers.size());
+
+            Thread.sleep(100);
+            search.stop();
+            for (Future<SearchResult> helper : helpers) {
+                Assertions.assertTrue(helper.get(2, TimeUnit.SECONDS).depth() < Search.MAX_PLY);
+            }
+            SearchResult result = future.get(2, TimeUnit.SECONDS);
+            Assertions.assertNotEquals(Move.NONE, result.move());
+        }
+    }
+
+    @Test
+    public void stopBeforeSearchIsNotLost() throws Exception {
+        try (ParallelSearch search = new ParallelSearch(3, new TranspositionTable(4))) {
+            search.stop();
+            SearchResult stopped = CompletableFuture.supplyAsync(
+                    () -> search.search(load(Fen.START), SearchLimits.depth(Search.MAX_PLY)))
+                    .get(10, TimeUnit.SECONDS);
+
+            Assertions.assertEquals(0, stopped.depth());
+            Assertions.assertEquals(3, search.search(load(Fen.START), SearchLimits.depth(3)).depth());
+        }
+    }
+}
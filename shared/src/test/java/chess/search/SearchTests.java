@@ -0,0 +1,113 @@
+package chess.search;
+
+import chess.Bitboard;
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import chess.Fen;
+import chess.Move;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class SearchTests {
+
+    private static Bitboard load(String fen) {
+        Bitboard bits = new Bitboard();
+        Fen.load(fen, bits);
+        return bits;
+    }
+
+    @Test
+    public void findsBackRankMate() {
+        SearchResult result = new Search().search(load("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1"), SearchLimits.depth(3));
+
+        Assertions.assertEquals("a1a8", Move.toString(result.move()));
+        Assertions.assertTrue(result.isMate());
+        Assertions.assertEquals(Search.MATE - 1, result.score());
+    }
+
+    @Test
+    public void capturesHangingQueen() {
+        SearchResult result = new Search().search(load("4k3/8/8/3q4/8/8/3R4/4K3 w - - 0 1"), SearchLimits.depth(2));
+
+        Assertions.assertEquals("d2d5", Move.toString(result.move()));
+        Assertions.assertTrue(result.score() > 300);
+    }
+
+    @Test
+    public void avoidsDefendedPiece() {
+        SearchResult result = new Search().search(load("4k3/2p5/3p4/8/8/8/3Q4/4K3 w - - 0 1"), SearchLimits.depth(2));
+
+        Assertions.assertNotEquals("d2d6", Move.toString(result.move()));
+    }
+
+    @Test
+    public void noMoveWhenMated() {
+        SearchResult result = new Search().search(load("R5k1/5ppp/8/8/8/8/8/6K1 b - - 0 1"), SearchLimits.depth(4));
+
+        Assertions.assertEquals(Move.NONE, result.move());
+        Assertions.assertNull(result.chessMove());
+        Assertions.assertEquals(-Search.MATE, result.score());
+    }
+
+    @Test
+    public void restoresPosition() {
+        Bitboard bits = load("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10");
+        long key = bits.key();
+
+        new Search().search(bits, SearchLimits.depth(3));
+
+        Assertions.assertEquals(key, bits.key());
+    }
+
+    @Test
+    public void respectsNodeLimit() {
+        SearchResult result = new Search().search(load(Fen.START), SearchLimits.nodes(5_000));
+
+        Assertions.assertTrue(result.nodes() <= 5_000);
+        Assertions.assertNotEquals(Move.NONE, result.move());
+    }
+
+    @Test
+    public void stopEndsSearch() throws Exception {
+        Search search = new Search();
+        CompletableFuture<SearchResult> future = CompletableFuture.supplyAsync(
+                () -> search.search(load(Fen.START), SearchLimits.depth(Search.MAX_PLY)));
+
+        // Whether or not the search has started by now, the stop must end it
+        Thread.sleep(100);
+        search.stop();
+        SearchResult result = future.get(10, TimeUnit.SECONDS);
+        Assertions.assertNotEquals(Move.NONE, result.move());
+        Assertions.assertTrue(result.depth() < Search.MAX_PLY);
+    }
+
+    @Test
+    public void stopBeforeSearchIsNotLost() throws Exception {
+        Search search = new Search();
+        search.stop();
+        SearchResult stopped = CompletableFuture.supplyAsync(
+                () -> search.search(load(Fen.START), SearchLimits.depth(Search.MAX_PLY))).get(10, TimeUnit.SECONDS);
+
+        Assertions.assertNotEquals(Move.NONE, stopped.move());
+        Assertions.assertEquals(0, stopped.depth());
+        Assertions.assertEquals(3, search.search(load(Fen.START), SearchLimits.depth(3)).depth());
+    }
+
+    @Test
+    public void searchesGameForTeamToMove() throws Exception {
+        ChessGame game = new ChessGame();
+        game.makeMove(new ChessMove(new ChessPosition(2, 6), new ChessPosition(3, 6), null));
+        game.makeMove(new ChessMove(new ChessPosition(7, 5), new ChessPosition(5, 5), null));
+        game.makeMove(new ChessMove(new ChessPosition(2, 7), new ChessPosition(4, 7), null));
+
+        SearchResult result = new Search().search(game, SearchLimits.depth(2));
+
+        Assertions.assertEquals(new ChessMove(new ChessPosition(8, 4), new ChessPosition(4, 8), null),
+                result.chessMove());
+        Assertions.assertEquals(ChessGame.TeamColor.BLACK, game.getTeamTurn());
+    }
+}
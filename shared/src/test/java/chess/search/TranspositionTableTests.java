@@ -0,0 +1,99 @@
+package chess.search;
+
+import chess.Bitboard;
+import chess.Fen;
+import chess.Move;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class TranspositionTableTests {
+
+    @Test
+    public void storeThenProbe() {
+        TranspositionTable table = new TranspositionTable(1);
+        int move = Move.encode(12, 28, Bitboard.EMPTY, Move.DOUBLE_PUSH);
+        table.store(0x1234_5678_9ABC_DEF0L, move, -250, 6, TranspositionTable.LOWER);
+
+        long data = table.probe(0x1234_5678_9ABC_DEF0L);
+        Assertions.assertEquals(move, TranspositionTable.move(data));
+        Assertions.assertEquals(-250, TranspositionTable.score(data));
+        Assertions.assertEquals(6, TranspositionTable.depth(data));
+        Assertions.assertEquals(TranspositionTable.LOWER, TranspositionTable.bound(data));
+        Assertions.assertEquals(0L, table.probe(0x1234_5678_9ABC_DEF1L));
+    }
+
+    @Test
+    public void sizedToPowerOfTwo() {
+        Assertions.assertEquals(1 << 16, new TranspositionTable(1).capacity());
+        Assertions.assertEquals(1 << 16, new TranspositionTable(3).capacity() / 2);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(0));
+    }
+
+    @Test
+    public void deeperEntryIsKept() {
+        TranspositionTable table = new TranspositionTable(1);
+        table.store(42L, Move.NONE, 10, 8, TranspositionTable.LOWER);
+        table.store(42L, Move.NONE, 20, 3, TranspositionTable.UPPER);
+
+        Assertions.assertEquals(8, TranspositionTable.depth(table.probe(42L)));
+    }
+
+    @Test
+    public void mateScoresAreRelativeToNode() {
+        int mateInThree = Search.MATE - 5;
+        int stored = TranspositionTable.toTable(mateInThree, 2);
+
+        Assertions.assertEquals(Search.MATE - 3, stored);
+        Assertions.assertEquals(Search.MATE - 7, TranspositionTable.fromTable(stored, 4));
+        Assertions.assertEquals(-Search.MATE + 7, TranspositionTable.fromTable(-stored, 4));
+        Assertions.assertEquals(150, TranspositionTable.fromTable(TranspositionTable.toTable(150, 9), 3));
+    }
+
+    @Test
+    public void concurrentWritersNeverProduceTornEntries() throws Exception {
+        TranspositionTable table = new TranspositionTable(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] futures = new Future<?>[4];
+            for (int t = 0; t < futures.length; t++) {
+                futures[t] = executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 200_000; i++) {
+                        // Every key maps to the same slot so writers constantly collide
+                        long key = (long) random.nextInt(1, 1000) << 32;
+                        int expected = (int) (key >>> 32);
+                        table.store(key, expected, expected, 1, TranspositionTable.EXACT);
+                        long data = table.probe(key);
+                        if (data != 0) {
+                            Assertions.assertEquals(expected, TranspositionTable.move(data));
+                            Assertions.assertEquals(expected, TranspositionTable.score(data));
+                        }
+                    }
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void sharedTableSpeedsUpRepeatSearch() {
+        TranspositionTable table = new TranspositionTable(4);
+        Bitboard bits = new Bitboard();
+        Fen.load("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10", bits);
+
+        SearchResult first = new Search(table).search(bits, SearchLimits.depth(2));
+        SearchResult second = new Search(table).search(bits, SearchLimits.depth(2));
+
+        Assertions.assertEquals(first.score(), second.score());
+        Assertions.assertTrue(second.nodes() < first.nodes());
+    }
+}